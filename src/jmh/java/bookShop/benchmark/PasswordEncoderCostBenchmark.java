@@ -0,0 +1,99 @@
+package bookShop.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderCostBenchmark {
+
+    private static final String PASSWORD = "Str0ng!Pass";
+
+    @Param({"bcrypt:8", "bcrypt:10", "bcrypt:12", "bcrypt:14", "pbkdf2:185000", "pbkdf2:310000", "pbkdf2:600000"})
+    private String encoder;
+
+    private PasswordEncoder passwordEncoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        String[] parts = encoder.split(":");
+        passwordEncoder = create(parts[0], Integer.parseInt(parts[1]));
+        encoded = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encoded);
+    }
+
+    static PasswordEncoder create(String algorithm, int cost) {
+        if ("bcrypt".equals(algorithm)) {
+            return new BCryptPasswordEncoder(cost);
+        }
+        Pbkdf2PasswordEncoder pbkdf2 = new Pbkdf2PasswordEncoder("", 16, cost, 256);
+        pbkdf2.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        return pbkdf2;
+    }
+
+    public static void main(String[] args) {
+        double targetMs = args.length > 0 ? Double.parseDouble(args[0]) : 100.0;
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        int bcryptStrength = 4;
+        for (int strength = 4; strength <= 16; strength++) {
+            double ms = measure(create("bcrypt", strength), samples);
+            System.out.printf(Locale.ROOT, "bcrypt strength=%d: %.1f ms%n", strength, ms);
+            if (ms > targetMs) {
+                break;
+            }
+            bcryptStrength = strength;
+        }
+
+        int pbkdf2Iterations = 100_000;
+        double pbkdf2Ms = measure(create("pbkdf2", pbkdf2Iterations), samples);
+        for (int round = 0; round < 3; round++) {
+            pbkdf2Iterations = (int) Math.max(10_000, Math.round(pbkdf2Iterations * targetMs / pbkdf2Ms / 1_000) * 1_000);
+            pbkdf2Ms = measure(create("pbkdf2", pbkdf2Iterations), samples);
+        }
+        System.out.printf(Locale.ROOT, "pbkdf2 iterations=%d: %.1f ms%n", pbkdf2Iterations, pbkdf2Ms);
+
+        System.out.printf(Locale.ROOT, "%nЦелевая задержка %.0f ms:%n", targetMs);
+        System.out.println("bookshop.password.bcrypt-strength=" + bcryptStrength);
+        System.out.println("bookshop.password.pbkdf2-iterations=" + pbkdf2Iterations);
+        System.out.println("# прежнее значение pbkdf2-iterations добавьте в bookshop.password.pbkdf2-legacy-iterations");
+    }
+
+    private static double measure(PasswordEncoder passwordEncoder, int samples) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        passwordEncoder.matches(PASSWORD, hash);
+        long[] times = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            passwordEncoder.matches(PASSWORD, hash);
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[samples / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,54 @@
+package bookShop.benchmark;
+
+import bookShop.validation.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordValidatorBenchmark {
+
+    @Param({"Str0ng!Pass", "  Str0ng!Pass  ", "weakpassword1!", "Пароль123!", "Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!Aa1!x"})
+    private String password;
+
+    private PasswordValidator scanner;
+
+    @Setup
+    public void setUp() {
+        scanner = new PasswordValidator();
+    }
+
+    @Benchmark
+    public boolean singlePassScanner() {
+        return scanner.isValid(password, null);
+    }
+
+    @Benchmark
+    public boolean regexMatches() {
+        return LegacyPasswordValidator.isValid(password);
+    }
+
+    static final class LegacyPasswordValidator {
+
+        static boolean isValid(String password) {
+            if (password == null) return false;
+            password = password.trim();
+            if (password.length() < 6 || password.length() > 64) return false;
+            if (!password.matches("^[A-Za-z\\d!@#$%^&*()_+\\-={}:;\"'<>,.?\\[\\]\\\\|`~/.]+$")) return false;
+            if (!password.matches(".*[A-Z].*")) return false;
+            if (!password.matches(".*[a-z].*")) return false;
+            if (!password.matches(".*\\d.*")) return false;
+            if (!password.matches(".*[!@#$%^&*()_+\\-={}:;\"'<>,.?\\[\\]\\\\|`~/.].*")) return false;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package bookShop.benchmark;
+
+import bookShop.model.Role;
+import bookShop.model.request.AuthRequest;
+import bookShop.model.request.BookRequest;
+import bookShop.model.request.RegisterRequest;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestDeserializationBenchmark {
+
+    private static final byte[] AUTH_JSON = ("{\"username\":\"  reader42 \",\"password\":\" Str0ng!Pass \"}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REGISTER_JSON = ("{\"username\":\" reader42 \",\"password\":\"Str0ng!Pass\","
+            + "\"phone\":\" +79991234567 \",\"email\":\" reader42@example.com \",\"role\":\" user \"}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BOOK_JSON = ("{\"title\":\"  Война и мир  \",\"author\":\" Лев Толстой \","
+            + "\"price\":\"1299.90\",\"copiesAvailable\":12,\"isbn\":\"978-5-17-090335-2\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper objectMapper;
+    private ObjectReader authReader;
+    private ObjectReader registerReader;
+    private ObjectReader bookReader;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        authReader = objectMapper.readerFor(AuthRequest.class);
+        registerReader = objectMapper.readerFor(RegisterRequest.class);
+        bookReader = objectMapper.readerFor(BookRequest.class);
+    }
+
+    @Benchmark
+    public AuthRequest authStreaming() throws IOException {
+        return authReader.readValue(AUTH_JSON);
+    }
+
+    @Benchmark
+    public AuthRequest authTree() throws IOException {
+        JsonNode node = objectMapper.readTree(AUTH_JSON);
+        AuthRequest req = new AuthRequest();
+        req.setUsername(text(node, "username"));
+        req.setPassword(text(node, "password"));
+        return req;
+    }
+
+    @Benchmark
+    public RegisterRequest registerStreaming() throws IOException {
+        return registerReader.readValue(REGISTER_JSON);
+    }
+
+    @Benchmark
+    public RegisterRequest registerTree() throws IOException {
+        JsonNode node = objectMapper.readTree(REGISTER_JSON);
+        RegisterRequest req = new RegisterRequest();
+        req.setUsername(text(node, "username"));
+        req.setPassword(text(node, "password"));
+        req.setPhone(text(node, "phone"));
+        req.setEmail(text(node, "email"));
+        String role = text(node, "role");
+        if (role != null && !role.isBlank()) {
+            req.setRole(Role.valueOf(role.toUpperCase()));
+        }
+        return req;
+    }
+
+    @Benchmark
+    public BookRequest bookStreaming() throws IOException {
+        return bookReader.readValue(BOOK_JSON);
+    }
+
+    @Benchmark
+    public BookRequest bookTree() throws IOException {
+        JsonNode node = objectMapper.readTree(BOOK_JSON);
+        BookRequest req = new BookRequest();
+        req.setTitle(text(node, "title"));
+        req.setAuthor(text(node, "author"));
+        JsonNode price = node.get("price");
+        req.setPrice(price != null && !price.isNull() ? price.asDouble() : null);
+        JsonNode copies = node.get("copiesAvailable");
+        req.setCopiesAvailable(copies != null && !copies.isNull() ? copies.asInt() : null);
+        return req;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText().trim() : null;
+    }
+}
@@ -0,0 +1,103 @@
+package bookShop.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SchemaInitializer implements InitializingBean {
+
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    private static final int PASSWORD_COLUMN_LENGTH = 255;
+    private static final long MIGRATION_LOCK_KEY = 0x626f6f6b73686f70L;
+    private static final String ACTIVE_LOANS_MIGRATION = "reconcile-active-loans-count";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Getter
+    private volatile boolean trigramSearchAvailable;
+
+    @Override
+    public void afterPropertiesSet() {
+        initTrigramSearch();
+        reconcileActiveLoanCounters();
+        alignSequence("book_seq", "book");
+        alignSequence("loan_seq", "loan");
+        alignSequence("app_user_seq", "app_user");
+        widenPasswordColumn();
+    }
+
+    private void initTrigramSearch() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_book_title_trgm ON book USING gin (lower(title) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_book_author_trgm ON book USING gin (lower(author) gin_trgm_ops)");
+            trigramSearchAvailable = true;
+            log.info("Триграммные индексы поиска книг готовы");
+        } catch (DataAccessException e) {
+            trigramSearchAvailable = false;
+            log.warn("Не удалось подготовить триграммный поиск (pg_trgm), используется поиск через LIKE: {}", e.getMessage());
+        }
+    }
+
+    // Разовая миграция: после заполнения счётчик ведут только атомарные UPDATE в LoanService.
+    // Повторный пересчёт при каждом старте гонялся бы с выдачами на других узлах во время выкладки.
+    private void reconcileActiveLoanCounters() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS schema_migration (
+                    id varchar(64) PRIMARY KEY,
+                    applied_at timestamp NOT NULL DEFAULT now())""");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", MIGRATION_LOCK_KEY);
+            Integer applied = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM schema_migration WHERE id = ?", Integer.class, ACTIVE_LOANS_MIGRATION);
+            if (applied != null && applied > 0) {
+                return;
+            }
+            jdbcTemplate.execute("LOCK TABLE loan IN SHARE MODE");
+            int fixed = jdbcTemplate.update("""
+                    UPDATE app_user u SET active_loans_count = c.cnt
+                    FROM (SELECT au.id, count(l.id) AS cnt
+                          FROM app_user au LEFT JOIN loan l ON l.app_user_id = au.id AND l.returned_date IS NULL
+                          GROUP BY au.id) c
+                    WHERE u.id = c.id AND u.active_loans_count <> c.cnt""");
+            jdbcTemplate.update("INSERT INTO schema_migration (id) VALUES (?)", ACTIVE_LOANS_MIGRATION);
+            log.info("Счётчики активных выдач заполнены по таблице loan для {} пользователей", fixed);
+        });
+    }
+
+    private void alignSequence(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM " + table, Long.class);
+        Map<String, Object> state = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM " + sequence);
+        long lastValue = ((Number) state.get("last_value")).longValue();
+        long nextHi = Boolean.TRUE.equals(state.get("is_called")) ? lastValue + SEQUENCE_ALLOCATION_SIZE : lastValue;
+        if (nextHi - SEQUENCE_ALLOCATION_SIZE < maxId) {
+            jdbcTemplate.queryForObject("SELECT setval(?::regclass, ?, false)", Long.class, sequence, maxId + SEQUENCE_ALLOCATION_SIZE);
+            log.info("Последовательность {} сдвинута за максимальный id таблицы {}: {}", sequence, table, maxId);
+        }
+    }
+
+    private void widenPasswordColumn() {
+        List<Integer> lengths = jdbcTemplate.queryForList("""
+                SELECT character_maximum_length FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = 'app_user' AND column_name = 'password'""", Integer.class);
+        if (!lengths.isEmpty() && lengths.get(0) != null && lengths.get(0) < PASSWORD_COLUMN_LENGTH) {
+            jdbcTemplate.execute("ALTER TABLE app_user ALTER COLUMN password TYPE varchar(" + PASSWORD_COLUMN_LENGTH + ")");
+            log.info("Колонка app_user.password расширена до {} символов", PASSWORD_COLUMN_LENGTH);
+        }
+    }
+}
@@ -53,6 +53,16 @@ public class AuthController {
                                     }
                             )
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "429",
+                            description = "Пул хеширования паролей перегружен",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = "{ \"error\": \"TOO_MANY_REQUESTS\", \"message\": \"Слишком много запросов авторизации, повторите попытку позже\", \"status\": 429, \"timestamp\": \"2025-07-21T13:00:00.000\", \"data\": null }"
+                                    )
+                            )
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "500",
                             description = "Внутренняя ошибка сервера",
@@ -107,6 +117,16 @@ public class AuthController {
                                     )
                             )
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "429",
+                            description = "Пул хеширования паролей перегружен",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = "{ \"error\": \"TOO_MANY_REQUESTS\", \"message\": \"Слишком много запросов авторизации, повторите попытку позже\", \"status\": 429, \"timestamp\": \"2025-07-21T13:00:00.000\", \"data\": null }"
+                                    )
+                            )
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "500",
                             description = "Внутренняя ошибка сервера",
@@ -1,8 +1,14 @@
 package bookShop.controller;
 
+import bookShop.model.response.BookImportResponse;
 import bookShop.model.response.BookResponse;
 import bookShop.model.request.BookRequest;
 import bookShop.util.ApiResponse;
+import bookShop.util.KeysetPage;
+import bookShop.util.SerializedResponseCache;
+import bookShop.service.BookExportService;
+import bookShop.service.BookImportService;
+import bookShop.service.CatalogueVersion;
 import bookShop.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,15 +16,20 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
-import java.util.List;
+import java.io.IOException;
 import java.util.stream.Collectors;
 
 import static bookShop.util.ApiResponseUtil.success;
 import static bookShop.util.ApiResponseUtil.successMsg;
+import static bookShop.util.ApiResponseUtil.successRevalidated;
 import static bookShop.controller.swagger.SwaggerResponses.*;
 
 @Tag(name = "Книги", description = "Управление книгами")
@@ -27,11 +38,18 @@ import static bookShop.controller.swagger.SwaggerResponses.*;
 @RequiredArgsConstructor
 public class BookController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String CSV_VALUE = "text/csv";
+
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
+    private final CatalogueVersion catalogueVersion;
+    private final SerializedResponseCache responseCache;
 
     @Operation(
             summary = "Получить список всех книг",
-            description = "Возвращает все книги в библиотеке",
+            description = "Возвращает страницу книг (keyset-пагинация по курсору, сортировка id или title)",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "200",
@@ -39,10 +57,14 @@ public class BookController {
                             content = @Content(
                                     schema = @Schema(implementation = ApiResponse.class),
                                     examples = @ExampleObject(
-                                            value = STATUS_200_LIST
+                                            value = STATUS_200_PAGE
                                     )
                             )
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Каталог не изменился с версии из If-None-Match / If-Modified-Since"
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Книги не найдены",
@@ -76,11 +98,61 @@ public class BookController {
             }
     )
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllBooks() {
-        List<BookResponse> data = bookService.getAllBooks().stream()
-                .map(BookResponse::from)
-                .collect(Collectors.toList());
-        return success(data);
+    public ResponseEntity<ApiResponse> getAllBooks(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size,
+                                                   @RequestParam(defaultValue = BookService.SORT_BY_ID) String sort,
+                                                   WebRequest webRequest) {
+        CatalogueVersion.Stamp stamp = catalogueVersion.current();
+        if (webRequest.checkNotModified(stamp.getEtag(), stamp.getLastModified())) {
+            return null;
+        }
+        ApiResponse body = responseCache.page("books|" + sort + "|" + size + "|" + cursor, stamp.getVersion(),
+                () -> bookService.getAllBooks(cursor, size, sort).map(BookResponse::from));
+        return successRevalidated(body, stamp.getEtag(), stamp.getLastModified());
+    }
+
+    @Operation(
+            summary = "Потоковый экспорт каталога",
+            description = "Выгружает все книги в формате NDJSON (по одной книге в строке) без загрузки каталога в память (только админ)",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Поток книг в формате NDJSON",
+                            content = @Content(
+                                    mediaType = NDJSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = BOOK_EXPORT_NDJSON
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_401
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Доступ запрещён: недостаточно прав",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_403
+                                    )
+                            )
+                    )
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(bookExportService::exportNdjson);
     }
 
     @Operation(
@@ -153,6 +225,72 @@ public class BookController {
         return success(data, "Книга успешно добавлена");
     }
 
+    @Operation(
+            summary = "Импорт каталога книг",
+            description = "Массовая загрузка книг из JSON-массива или CSV (title,author,price,copiesAvailable) с отчётом по строкам (только админ)",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Импорт завершён, ошибки по строкам в отчёте",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_200_MSG_BOOK_IMPORT
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Тело запроса не является JSON-массивом",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_400_VALIDATION
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_401
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Доступ запрещён: недостаточно прав",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_403
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "500",
+                            description = "Внутренняя ошибка сервера",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_500
+                                    )
+                            )
+                    )
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, CSV_VALUE})
+    public ResponseEntity<ApiResponse> importBooks(HttpServletRequest request) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV_VALUE));
+        BookImportResponse data = csv
+                ? bookImportService.importCsv(request.getInputStream())
+                : bookImportService.importJson(request.getInputStream());
+        return success(data, "Импорт книг завершён");
+    }
+
     @Operation(
             summary = "Изменить книгу",
             description = "Изменить price и copiesAvailable по ID (только админ)",
@@ -303,6 +441,10 @@ public class BookController {
                                     )
                             )
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Каталог не изменился с версии из If-None-Match / If-Modified-Since"
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Книга не найдена",
@@ -347,9 +489,13 @@ public class BookController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/id/{id}")
-    public ResponseEntity<ApiResponse> getBookById(@PathVariable Long id) {
-        BookResponse data = BookResponse.from(bookService.getBookById(id));
-        return success(data);
+    public ResponseEntity<ApiResponse> getBookById(@PathVariable Long id, WebRequest webRequest) {
+        CatalogueVersion.Stamp stamp = catalogueVersion.current();
+        if (webRequest.checkNotModified(stamp.getEtag(), stamp.getLastModified())) {
+            return null;
+        }
+        BookResponse data = bookService.getBookById(id);
+        return successRevalidated(ApiResponse.successWithData(data, null), stamp.getEtag(), stamp.getLastModified());
     }
 
     @Operation(
@@ -366,6 +512,10 @@ public class BookController {
                                     )
                             )
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Каталог не изменился с версии из If-None-Match / If-Modified-Since"
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Книга не найдена",
@@ -410,11 +560,16 @@ public class BookController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/title/{title}")
-    public ResponseEntity<ApiResponse> getBooksByTitle(@PathVariable String title) {
-        List<BookResponse> data = bookService.getBooksByTitle(title).stream()
-                .map(BookResponse::from)
-                .collect(Collectors.toList());
-        return success(data);
+    public ResponseEntity<ApiResponse> getBooksByTitle(@PathVariable String title, WebRequest webRequest) {
+        CatalogueVersion.Stamp stamp = catalogueVersion.current();
+        if (webRequest.checkNotModified(stamp.getEtag(), stamp.getLastModified())) {
+            return null;
+        }
+        ApiResponse body = responseCache.page("title|" + title, stamp.getVersion(),
+                () -> KeysetPage.single(bookService.getBooksByTitle(title).stream()
+                        .map(BookResponse::from)
+                        .collect(Collectors.toList())));
+        return successRevalidated(body, stamp.getEtag(), stamp.getLastModified());
     }
 
     @Operation(
@@ -431,6 +586,10 @@ public class BookController {
                                     )
                             )
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Каталог не изменился с версии из If-None-Match / If-Modified-Since"
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Книги не найдены",
@@ -475,10 +634,15 @@ public class BookController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/author/{author}")
-    public ResponseEntity<ApiResponse> getBooksByAuthor(@PathVariable String author) {
-        List<BookResponse> data = bookService.getBooksByAuthor(author).stream()
-                .map(BookResponse::from)
-                .collect(Collectors.toList());
-        return success(data);
+    public ResponseEntity<ApiResponse> getBooksByAuthor(@PathVariable String author, WebRequest webRequest) {
+        CatalogueVersion.Stamp stamp = catalogueVersion.current();
+        if (webRequest.checkNotModified(stamp.getEtag(), stamp.getLastModified())) {
+            return null;
+        }
+        ApiResponse body = responseCache.page("author|" + author, stamp.getVersion(),
+                () -> KeysetPage.single(bookService.getBooksByAuthor(author).stream()
+                        .map(BookResponse::from)
+                        .collect(Collectors.toList())));
+        return successRevalidated(body, stamp.getEtag(), stamp.getLastModified());
     }
 }
\ No newline at end of file
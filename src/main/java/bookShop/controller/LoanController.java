@@ -1,5 +1,8 @@
 package bookShop.controller;
 
+import bookShop.model.request.BatchIssueRequest;
+import bookShop.model.request.BatchReturnRequest;
+import bookShop.model.response.LoanBatchResponse;
 import bookShop.model.response.LoanResponse;
 import bookShop.util.ApiResponse;
 import bookShop.model.AppUserDetails;
@@ -17,10 +20,9 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.Valid;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import static bookShop.util.ApiResponseUtil.success;
+import static bookShop.util.ApiResponseUtil.successPage;
 import static bookShop.controller.swagger.SwaggerResponses.*;
 
 @Tag(name = "Выдача книг", description = "Выдача и возврат книг")
@@ -117,7 +119,7 @@ public class LoanController {
             Authentication authentication
     ) {
         AppUserDetails userDetails = (AppUserDetails) authentication.getPrincipal();
-        LoanResponse data = LoanResponse.from(loanService.issueBook(bookId, userDetails.getId()));
+        LoanResponse data = loanService.issueBook(bookId, userDetails.getId());
         return success(data, "Книга успешно выдана");
     }
 
@@ -204,6 +206,132 @@ public class LoanController {
         return success(data, "Книга успешно возвращена");
     }
 
+    @Operation(
+            summary = "Взять несколько книг",
+            description = "Оформить выдачу пакета книг одним запросом (лимиты уровня проверяются один раз на весь пакет)",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Результаты по каждому элементу пакета",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_200_MSG_LOAN_ISSUE_BATCH
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации: пустой или слишком большой пакет",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_400_VALIDATION
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_401
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "Пользователь не найден",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_404_USER
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "500",
+                            description = "Внутренняя ошибка сервера",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_500
+                                    )
+                            )
+                    )
+            }
+    )
+    @PostMapping("/issue/batch")
+    public ResponseEntity<ApiResponse> issueBooks(@Valid @RequestBody BatchIssueRequest request, Authentication authentication) {
+        AppUserDetails userDetails = (AppUserDetails) authentication.getPrincipal();
+        LoanBatchResponse data = loanService.issueBooks(request.getBookIds(), userDetails.getId());
+        return success(data, "Пакетная выдача обработана");
+    }
+
+    @Operation(
+            summary = "Вернуть несколько книг",
+            description = "Возвратить пакет выдач одним запросом (баллы начисляются/списываются по каждой выдаче)",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Результаты по каждому элементу пакета",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_200_MSG_LOAN_RETURN_BATCH
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Ошибка валидации: пустой или слишком большой пакет",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_400_VALIDATION
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_401
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "Пользователь не найден",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_404_USER
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "500",
+                            description = "Внутренняя ошибка сервера",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_500
+                                    )
+                            )
+                    )
+            }
+    )
+    @PostMapping("/return/batch")
+    public ResponseEntity<ApiResponse> returnBooks(@Valid @RequestBody BatchReturnRequest request, Authentication authentication) {
+        AppUserDetails userDetails = (AppUserDetails) authentication.getPrincipal();
+        LoanBatchResponse data = loanService.returnBooks(request.getLoanIds(), userDetails.getId());
+        return success(data, "Пакетный возврат обработан");
+    }
+
     @Operation(
             summary = "Мои активные займы",
             description = "Список всех не возвращённых займов пользователя",
@@ -214,7 +342,7 @@ public class LoanController {
                             content = @Content(
                                     schema = @Schema(implementation = ApiResponse.class),
                                     examples = @ExampleObject(
-                                            value = STATUS_200_LIST
+                                            value = STATUS_200_PAGE
                                     )
                             )
                     ),
@@ -251,13 +379,11 @@ public class LoanController {
             }
     )
     @GetMapping("/my")
-    public ResponseEntity<ApiResponse> myLoans(Authentication authentication) {
+    public ResponseEntity<ApiResponse> myLoans(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               Authentication authentication) {
         AppUserDetails userDetails = (AppUserDetails) authentication.getPrincipal();
-        List<LoanResponse> data = loanService.getActiveLoans(userDetails.getId())
-                .stream()
-                .map(LoanResponse::from)
-                .collect(Collectors.toList());
-        return success(data);
+        return successPage(loanService.getActiveLoans(userDetails.getId(), cursor, size).map(LoanResponse::from));
     }
 
     @Operation(
@@ -270,7 +396,7 @@ public class LoanController {
                             content = @Content(
                                     schema = @Schema(implementation = ApiResponse.class),
                                     examples = @ExampleObject(
-                                            value = STATUS_200_LIST
+                                            value = STATUS_200_PAGE
                                     )
                             )
                     ),
@@ -325,12 +451,10 @@ public class LoanController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/by-bookId/{bookId}")
-    public ResponseEntity<ApiResponse> getActiveLoansByBook(@PathVariable Long bookId) {
-        List<LoanResponse> data = loanService.getActiveLoansByBook(bookId)
-                .stream()
-                .map(LoanResponse::from)
-                .collect(Collectors.toList());
-        return success(data);
+    public ResponseEntity<ApiResponse> getActiveLoansByBook(@PathVariable Long bookId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size) {
+        return successPage(loanService.getActiveLoansByBook(bookId, cursor, size).map(LoanResponse::from));
     }
 
     @Operation(
@@ -343,7 +467,7 @@ public class LoanController {
                             content = @Content(
                                     schema = @Schema(implementation = ApiResponse.class),
                                     examples = @ExampleObject(
-                                            value = STATUS_200_LIST
+                                            value = STATUS_200_PAGE
                                     )
                             )
                     ),
@@ -398,11 +522,9 @@ public class LoanController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/by-userId/{userId}")
-    public ResponseEntity<ApiResponse> getActiveLoansByUser(@PathVariable Long userId) {
-        List<LoanResponse> data = loanService.getActiveLoans(userId)
-                .stream()
-                .map(LoanResponse::from)
-                .collect(Collectors.toList());
-        return success(data);
+    public ResponseEntity<ApiResponse> getActiveLoansByUser(@PathVariable Long userId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size) {
+        return successPage(loanService.getActiveLoans(userId, cursor, size).map(LoanResponse::from));
     }
 }
\ No newline at end of file
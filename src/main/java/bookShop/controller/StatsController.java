@@ -0,0 +1,128 @@
+package bookShop.controller;
+
+import bookShop.model.response.CacheStatsResponse;
+import bookShop.security.BoundedPasswordEncoder;
+import bookShop.security.CustomUserDetailsService;
+import bookShop.security.TokenVersionRegistry;
+import bookShop.security.VerifiedTokenCache;
+import bookShop.service.BookCatalogueCache;
+import bookShop.util.SerializedResponseCache;
+import bookShop.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static bookShop.util.ApiResponseUtil.success;
+import static bookShop.controller.swagger.SwaggerResponses.*;
+
+@Tag(name = "Статистика", description = "Служебная статистика приложения")
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final BookCatalogueCache bookCatalogueCache;
+    private final SerializedResponseCache responseCache;
+    private final BoundedPasswordEncoder passwordEncoder;
+
+    @Operation(
+            summary = "Статистика кэшей",
+            description = "Размер, попадания, промахи и вытеснения внутренних кэшей (только админ)",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Статистика кэшей",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_200_LIST
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_401
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Доступ запрещён: недостаточно прав",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_403
+                                    )
+                            )
+                    )
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse> getCacheStats() {
+        List<CacheStatsResponse> data = new ArrayList<>();
+        data.add(userDetailsService.cacheStats());
+        data.add(verifiedTokenCache.cacheStats());
+        data.add(tokenVersionRegistry.cacheStats());
+        data.addAll(bookCatalogueCache.cacheStats());
+        data.add(responseCache.cacheStats());
+        return success(data);
+    }
+
+    @Operation(
+            summary = "Статистика пула хеширования паролей",
+            description = "Глубина очереди, число отклонённых задач и время хеширования паролей (только админ)",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Статистика пула хеширования",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_200_PASSWORD_HASHING
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Пользователь не авторизован",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_401
+                                    )
+                            )
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Доступ запрещён: недостаточно прав",
+                            content = @Content(
+                                    schema = @Schema(implementation = ApiResponse.class),
+                                    examples = @ExampleObject(
+                                            value = STATUS_403
+                                    )
+                            )
+                    )
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/password-hashing")
+    public ResponseEntity<ApiResponse> getPasswordHashingStats() {
+        return success(passwordEncoder.stats());
+    }
+}
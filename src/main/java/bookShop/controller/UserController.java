@@ -38,7 +38,7 @@ public class UserController {
                             content = @Content(
                                     schema = @Schema(implementation = ApiResponse.class),
                                     examples = @ExampleObject(
-                                            value = STATUS_200_LIST
+                                            value = STATUS_200_PAGE
                                     )
                             )
                     ),
@@ -86,8 +86,10 @@ public class UserController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllUsers() {
-        return success(userService.getAllUsers());
+    public ResponseEntity<ApiResponse> getAllUsers(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size,
+                                                   @RequestParam(defaultValue = UserService.SORT_BY_ID) String sort) {
+        return successPage(userService.getAllUsers(cursor, size, sort));
     }
 
     @Operation(
@@ -404,7 +406,7 @@ public class UserController {
                             content = @Content(
                                     schema = @Schema(implementation = ApiResponse.class),
                                     examples = @ExampleObject(
-                                            value = STATUS_200_LIST
+                                            value = STATUS_200_PAGE
                                     )
                             )
                     ),
@@ -452,7 +454,9 @@ public class UserController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/username/{username}")
-    public ResponseEntity<ApiResponse> getUserByUsername(@PathVariable String username) {
-        return success(userService.getUsersByUsername(username));
+    public ResponseEntity<ApiResponse> getUserByUsername(@PathVariable String username,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        return successPage(userService.getUsersByUsername(username, cursor, size));
     }
 }
\ No newline at end of file
@@ -12,6 +12,24 @@ public class SwaggerResponses {
     { ... }
   ]
 }
+""";
+
+    public static final String STATUS_200_PAGE = """
+{
+  "error": null,
+  "message": null,
+  "status": 200,
+  "timestamp": "2025-07-21T13:00:00.000",
+  "data": [
+    { ... }
+  ],
+  "nextCursor": "aWQKNTA"
+}
+""";
+
+    public static final String BOOK_EXPORT_NDJSON = """
+{"id":1,"title":"Clean Code","author":"Robert C. Martin","copiesAvailable":3,"price":95.0}
+{"id":2,"title":"Spring in Action","author":"Craig Walls","copiesAvailable":2,"price":110.0}
 """;
 
     public static final String STATUS_200_MSG_USER_UPDATED = """
@@ -92,6 +110,37 @@ public class SwaggerResponses {
   "timestamp": "2025-07-21T14:10:00.000",
   "data": null
 }
+""";
+
+    public static final String STATUS_429 = """
+{
+  "error": "TOO_MANY_REQUESTS",
+  "message": "Слишком много запросов авторизации, повторите попытку позже",
+  "status": 429,
+  "timestamp": "2025-07-21T14:10:00.000",
+  "data": null
+}
+""";
+
+    public static final String STATUS_200_PASSWORD_HASHING = """
+{
+  "error": null,
+  "message": null,
+  "status": 200,
+  "timestamp": "2025-07-21T14:10:00.000",
+  "data": {
+    "poolSize": 4,
+    "activeThreads": 2,
+    "queueDepth": 3,
+    "queueCapacity": 64,
+    "completed": 15230,
+    "rejected": 12,
+    "timedOut": 1,
+    "averageWaitMs": 4.7,
+    "averageHashMs": 62.3,
+    "maxHashMs": 118.9
+  }
+}
 """;
 
     public static final String STATUS_200_MSG_LOAN_ISSUE = """
@@ -112,6 +161,40 @@ public class SwaggerResponses {
   "timestamp": "2025-07-21T13:00:00.000",
   "data": [ { ... } ]
 }
+""";
+
+    public static final String STATUS_200_MSG_LOAN_ISSUE_BATCH = """
+{
+  "error": null,
+  "message": "Пакетная выдача обработана",
+  "status": 200,
+  "timestamp": "2025-07-21T13:00:00.000",
+  "data": {
+    "succeeded": 1,
+    "failed": 1,
+    "items": [
+      { "id": 1, "success": true, "loan": { ... } },
+      { "id": 2, "success": false, "error": "BOOK_UNAVAILABLE", "message": "Нет доступных экземпляров книги" }
+    ]
+  }
+}
+""";
+
+    public static final String STATUS_200_MSG_LOAN_RETURN_BATCH = """
+{
+  "error": null,
+  "message": "Пакетный возврат обработан",
+  "status": 200,
+  "timestamp": "2025-07-21T13:00:00.000",
+  "data": {
+    "succeeded": 1,
+    "failed": 1,
+    "items": [
+      { "id": 10, "success": true, "loan": { ... } },
+      { "id": 11, "success": false, "error": "LOAN_ALREADY_RETURNED", "message": "Книга уже возвращена" }
+    ]
+  }
+}
 """;
 
     public static final String STATUS_404_BOOK = """
@@ -172,6 +255,26 @@ public class SwaggerResponses {
   "timestamp": "2025-07-21T13:00:00.000",
   "data": [ { ... } ]
 }
+""";
+
+    public static final String STATUS_200_MSG_BOOK_IMPORT = """
+{
+  "error": null,
+  "message": "Импорт книг завершён",
+  "status": 200,
+  "timestamp": "2025-07-21T13:00:00.000",
+  "data": {
+    "total": 3,
+    "imported": 1,
+    "duplicates": 1,
+    "failed": 1,
+    "errorsTruncated": false,
+    "errors": [
+      { "row": 2, "title": "Clean Code", "author": "Robert C. Martin", "error": "BOOK_ALREADY_EXISTS", "message": "Книга с таким названием и автором уже существует" },
+      { "row": 3, "error": "VALIDATION_ERROR", "message": "price: Цена обязательна" }
+    ]
+  }
+}
 """;
 
     public static final String STATUS_400_ALREADY_EXISTS = """
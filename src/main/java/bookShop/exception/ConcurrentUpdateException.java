@@ -0,0 +1,10 @@
+package bookShop.exception;
+
+public class ConcurrentUpdateException extends ApiException {
+    public ConcurrentUpdateException() {
+        super("CONCURRENT_UPDATE", "Данные были изменены другим запросом, повторите попытку", 409);
+    }
+    public ConcurrentUpdateException(String message) {
+        super("CONCURRENT_UPDATE", message, 409);
+    }
+}
@@ -0,0 +1,13 @@
+package bookShop.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends ApiException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super("TOO_MANY_REQUESTS", message, 429);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -13,11 +13,12 @@ import java.util.List;
 @Builder
 public class AppUser {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_user_seq")
+    @SequenceGenerator(name = "app_user_seq", sequenceName = "app_user_seq", allocationSize = 50)
     private Long id;
     @Column(unique = true, nullable = false, length = 32)
     private String username;
-    @Column(nullable = false, length = 64)
+    @Column(nullable = false, length = 255)
     private String password;
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -28,10 +29,21 @@ public class AppUser {
     @Column(nullable = false)
     @Builder.Default
     private LoyaltyLevel loyaltyLevel = LoyaltyLevel.NOVICE;
-    @OneToMany(mappedBy = "appUser", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "appUser", fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Loan> loans;
     @Column(nullable = false, length = 11)
     private String phone;
     @Column(nullable = false, length = 255)
     private String email;
+    @Column(columnDefinition = "integer default 0 not null")
+    @Builder.Default
+    private int tokenVersion = 0;
+    @Column(insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    @Builder.Default
+    private int activeLoansCount = 0;
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
 }
\ No newline at end of file
@@ -19,6 +19,15 @@ public class AppUserDetails implements UserDetails {
         this.user = user;
     }
 
+    public static AppUserDetails fromClaims(Long id, String username, Role role, int tokenVersion) {
+        return new AppUserDetails(AppUser.builder()
+                .id(id)
+                .username(username)
+                .role(role)
+                .tokenVersion(tokenVersion)
+                .build());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
@@ -67,6 +76,10 @@ public class AppUserDetails implements UserDetails {
         return user.getId();
     }
 
+    public int getTokenVersion() {
+        return user.getTokenVersion();
+    }
+
     public String getEmail() {
         return user.getEmail();
     }
@@ -5,13 +5,15 @@ import lombok.*;
 import javax.persistence.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_book_title_id", columnList = "title, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false, length = 32)
     private String title;
@@ -21,4 +23,7 @@ public class Book {
     private double price;
     @Column(nullable = false)
     private int copiesAvailable;
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
 }
\ No newline at end of file
@@ -6,21 +6,33 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_loan_user_id", columnList = "app_user_id, id"),
+        @Index(name = "idx_loan_book_id", columnList = "book_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Loan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "loan_seq", allocationSize = 50)
     private Long id;
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser appUser;
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Book book;
     @Column(nullable = false)
     private LocalDate loanDate;
     @Column(nullable = false)
     private LocalDate dueDate;
     private LocalDate returnedDate;
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
 }
@@ -0,0 +1,28 @@
+package bookShop.model.projection;
+
+import bookShop.model.response.LoanResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class ActiveLoanView {
+    private final Long userId;
+    private final Long loanId;
+    private final Long bookId;
+    private final String bookTitle;
+    private final LocalDate loanDate;
+    private final LocalDate dueDate;
+
+    public LoanResponse toLoanResponse() {
+        LoanResponse dto = new LoanResponse();
+        dto.setId(loanId);
+        dto.setBookId(bookId);
+        dto.setBookTitle(bookTitle);
+        dto.setLoanDate(loanDate);
+        dto.setDueDate(dueDate);
+        return dto;
+    }
+}
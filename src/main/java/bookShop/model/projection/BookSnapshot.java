@@ -0,0 +1,24 @@
+package bookShop.model.projection;
+
+import bookShop.model.response.BookResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookSnapshot {
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final double price;
+
+    public BookResponse toBookResponse(int copiesAvailable) {
+        BookResponse dto = new BookResponse();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setAuthor(author);
+        dto.setCopiesAvailable(copiesAvailable);
+        dto.setPrice(price);
+        return dto;
+    }
+}
@@ -0,0 +1,15 @@
+package bookShop.model.request;
+
+import lombok.*;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReturnRequest {
+    @NotEmpty(message = "Список ID займов не должен быть пустым")
+    private List<@NotNull(message = "ID займа обязателен") @Min(value = 1, message = "ID займа должен быть положительным") Long> loanIds;
+}
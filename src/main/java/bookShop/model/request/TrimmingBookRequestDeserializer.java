@@ -2,37 +2,30 @@ package bookShop.model.request;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 
+import static bookShop.model.request.TrimmingJsonReader.doubleValue;
+import static bookShop.model.request.TrimmingJsonReader.firstField;
+import static bookShop.model.request.TrimmingJsonReader.intValue;
+import static bookShop.model.request.TrimmingJsonReader.text;
+
 public class TrimmingBookRequestDeserializer extends JsonDeserializer<BookRequest> {
     @Override
     public BookRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-        JsonNode node = p.getCodec().readTree(p);
-
-        if (!(node instanceof ObjectNode)) {
-            throw JsonMappingException.from(p, "Некорректный формат JSON");
-        }
-        ObjectNode objNode = (ObjectNode) node;
         BookRequest req = new BookRequest();
-        req.setTitle(getText(objNode, "title"));
-        req.setAuthor(getText(objNode, "author"));
-        req.setPrice(getDouble(objNode, "price"));
-        req.setCopiesAvailable(getInt(objNode, "copiesAvailable"));
+        for (JsonToken token = firstField(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "title" -> req.setTitle(text(p));
+                case "author" -> req.setAuthor(text(p));
+                case "price" -> req.setPrice(doubleValue(p));
+                case "copiesAvailable" -> req.setCopiesAvailable(intValue(p));
+                default -> p.skipChildren();
+            }
+        }
         return req;
     }
-
-    private String getText(ObjectNode node, String field) {
-        JsonNode value = node.get(field);
-        return (value != null && !value.isNull()) ? value.asText().trim() : null;
-    }
-    private Double getDouble(ObjectNode node, String field) {
-        JsonNode value = node.get(field);
-        return (value != null && !value.isNull()) ? value.asDouble() : null;
-    }
-    private Integer getInt(ObjectNode node, String field) {
-        JsonNode value = node.get(field);
-        return (value != null && !value.isNull()) ? value.asInt() : null;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package bookShop.model.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+
+final class TrimmingJsonReader {
+
+    private TrimmingJsonReader() {
+    }
+
+    static JsonToken firstField(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return p.nextToken();
+        }
+        if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT) {
+            return token;
+        }
+        p.skipChildren();
+        throw JsonMappingException.from(p, "Некорректный формат JSON");
+    }
+
+    static String text(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return trimmed(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            case VALUE_NUMBER_INT:
+                return p.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT:
+                return String.valueOf(p.getDoubleValue());
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            default:
+                p.skipChildren();
+                return "";
+        }
+    }
+
+    static Double doubleValue(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return NumberInput.parseAsDouble(p.getText(), 0.0);
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return p.getDoubleValue();
+            case VALUE_TRUE:
+                return 1.0;
+            case VALUE_FALSE:
+                return 0.0;
+            default:
+                p.skipChildren();
+                return 0.0;
+        }
+    }
+
+    static Integer intValue(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return NumberInput.parseAsInt(p.getText(), 0);
+            case VALUE_NUMBER_INT:
+                return p.getNumberValue().intValue();
+            case VALUE_NUMBER_FLOAT:
+                return (int) p.getDoubleValue();
+            case VALUE_TRUE:
+                return 1;
+            case VALUE_FALSE:
+                return 0;
+            default:
+                p.skipChildren();
+                return 0;
+        }
+    }
+
+    private static String trimmed(char[] chars, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && chars[start] <= ' ') start++;
+        while (end > start && chars[end - 1] <= ' ') end--;
+        return new String(chars, start, end - start);
+    }
+}
@@ -0,0 +1,16 @@
+package bookShop.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookImportErrorResponse {
+    private long row;
+    private String title;
+    private String author;
+    private String error;
+    private String message;
+}
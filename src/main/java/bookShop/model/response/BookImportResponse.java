@@ -0,0 +1,16 @@
+package bookShop.model.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BookImportResponse {
+    private long total;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<BookImportErrorResponse> errors = new ArrayList<>();
+}
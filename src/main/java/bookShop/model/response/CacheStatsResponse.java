@@ -0,0 +1,29 @@
+package bookShop.model.response;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Data;
+
+@Data
+public class CacheStatsResponse {
+    private String name;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private double hitRate;
+
+    public static CacheStatsResponse from(String name, Cache<?, ?> cache, long invalidations) {
+        CacheStats stats = cache.stats();
+        CacheStatsResponse dto = new CacheStatsResponse();
+        dto.setName(name);
+        dto.setSize(cache.estimatedSize());
+        dto.setHits(stats.hitCount());
+        dto.setMisses(stats.missCount());
+        dto.setEvictions(stats.evictionCount());
+        dto.setInvalidations(invalidations);
+        dto.setHitRate(stats.hitRate());
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package bookShop.model.response;
+
+import bookShop.exception.ApiException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoanBatchItemResponse {
+    private Long id;
+    private boolean success;
+    private LoanResponse loan;
+    private String error;
+    private String message;
+
+    public static LoanBatchItemResponse ok(Long id, LoanResponse loan) {
+        LoanBatchItemResponse dto = new LoanBatchItemResponse();
+        dto.setId(id);
+        dto.setSuccess(true);
+        dto.setLoan(loan);
+        return dto;
+    }
+
+    public static LoanBatchItemResponse failed(Long id, ApiException reason) {
+        LoanBatchItemResponse dto = new LoanBatchItemResponse();
+        dto.setId(id);
+        dto.setSuccess(false);
+        dto.setError(reason.getErrorCode());
+        dto.setMessage(reason.getMessage());
+        return dto;
+    }
+}
@@ -0,0 +1,21 @@
+package bookShop.model.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LoanBatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<LoanBatchItemResponse> items;
+
+    public static LoanBatchResponse of(List<LoanBatchItemResponse> items) {
+        LoanBatchResponse dto = new LoanBatchResponse();
+        int ok = (int) items.stream().filter(LoanBatchItemResponse::isSuccess).count();
+        dto.setSucceeded(ok);
+        dto.setFailed(items.size() - ok);
+        dto.setItems(items);
+        return dto;
+    }
+}
@@ -14,10 +14,14 @@ public class LoanResponse {
     private LocalDate returnedDate;
 
     public static LoanResponse from(bookShop.model.Loan loan) {
+        return from(loan, loan.getBook().getTitle());
+    }
+
+    public static LoanResponse from(bookShop.model.Loan loan, String bookTitle) {
         LoanResponse dto = new LoanResponse();
         dto.setId(loan.getId());
         dto.setBookId(loan.getBook().getId());
-        dto.setBookTitle(loan.getBook().getTitle());
+        dto.setBookTitle(bookTitle);
         dto.setLoanDate(loan.getLoanDate());
         dto.setDueDate(loan.getDueDate());
         dto.setReturnedDate(loan.getReturnedDate());
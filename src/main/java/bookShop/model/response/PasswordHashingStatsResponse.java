@@ -0,0 +1,17 @@
+package bookShop.model.response;
+
+import lombok.Data;
+
+@Data
+public class PasswordHashingStatsResponse {
+    private int poolSize;
+    private int activeThreads;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private long timedOut;
+    private double averageWaitMs;
+    private double averageHashMs;
+    private double maxHashMs;
+}
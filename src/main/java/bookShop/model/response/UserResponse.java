@@ -2,7 +2,6 @@ package bookShop.model.response;
 
 import lombok.Data;
 import java.util.List;
-import java.util.stream.Collectors;
 import bookShop.model.AppUser;
 
 @Data
@@ -25,13 +24,7 @@ public class UserResponse {
         dto.setLoyaltyLevel(user.getLoyaltyLevel().getTitle());
         dto.setPhone(user.getPhone());
         dto.setEmail(user.getEmail());
-        dto.setActiveLoans(
-                user.getLoans() == null ? List.of() :
-                        user.getLoans().stream()
-                                .filter(l -> l.getReturnedDate() == null)
-                                .map(LoanResponse::from)
-                                .collect(Collectors.toList())
-        );
+        dto.setActiveLoans(List.of());
         return dto;
     }
 }
\ No newline at end of file
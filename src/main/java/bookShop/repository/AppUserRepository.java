@@ -1,10 +1,14 @@
 package bookShop.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import bookShop.model.AppUser;
 import bookShop.model.Role;
+import bookShop.security.UserSnapshot;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,5 +23,37 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     int countByRole(Role role);
     Optional<AppUser> findByUsername(String username);
     boolean existsByUsername(String username);
+    @Query("SELECT new bookShop.security.UserSnapshot(u.id, u.username, u.password, u.role, u.tokenVersion) " +
+            "FROM AppUser u WHERE u.username = :username")
+    Optional<UserSnapshot> findSnapshotByUsername(@Param("username") String username);
+    @Transactional
+    @Modifying
+    @Query("UPDATE AppUser u SET u.password = :newHash, u.version = u.version + 1 WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+    @Query("SELECT u.tokenVersion FROM AppUser u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+    @Modifying
+    @Query("UPDATE AppUser u SET u.activeLoansCount = u.activeLoansCount + 1 WHERE u.id = :id AND u.activeLoansCount < :limit")
+    int incrementActiveLoansCount(@Param("id") Long id, @Param("limit") int limit);
+    @Modifying
+    @Query("UPDATE AppUser u SET u.activeLoansCount = u.activeLoansCount - 1 WHERE u.id = :id AND u.activeLoansCount > 0")
+    int decrementActiveLoansCount(@Param("id") Long id);
+    @Query("SELECT u.activeLoansCount FROM AppUser u WHERE u.id = :id")
+    Optional<Integer> findActiveLoansCountById(@Param("id") Long id);
+    @Modifying
+    @Query("UPDATE AppUser u SET u.activeLoansCount = u.activeLoansCount + :count " +
+            "WHERE u.id = :id AND u.activeLoansCount + :count <= :limit")
+    int reserveActiveLoans(@Param("id") Long id, @Param("count") int count, @Param("limit") int limit);
+    @Modifying
+    @Query(value = "UPDATE app_user SET active_loans_count = greatest(active_loans_count - :count, 0) WHERE id = :id",
+            nativeQuery = true)
+    int releaseActiveLoans(@Param("id") Long id, @Param("count") int count);
+    @Query("SELECT u FROM AppUser u WHERE u.id > :afterId ORDER BY u.id")
+    List<AppUser> findPageAfterId(@Param("afterId") long afterId, Pageable pageable);
+    @Query("SELECT u FROM AppUser u ORDER BY u.username, u.id")
+    List<AppUser> findFirstPageByUsername(Pageable pageable);
+    @Query("SELECT u FROM AppUser u WHERE u.username > :username OR (u.username = :username AND u.id > :afterId) ORDER BY u.username, u.id")
+    List<AppUser> findPageAfterUsername(@Param("username") String username, @Param("afterId") long afterId, Pageable pageable);
+    @Query("SELECT u FROM AppUser u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :username, '%')) AND u.id > :afterId ORDER BY u.id")
+    List<AppUser> findByUsernameIgnoreCaseLikeAfterId(@Param("username") String username, @Param("afterId") long afterId, Pageable pageable);
 }
-
@@ -1,21 +1,78 @@
 package bookShop.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import bookShop.model.Book;
+import bookShop.model.projection.BookSnapshot;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
-    @Query("SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Book> findByTitleIgnoreCaseLike(@Param("title") String title);
-    @Query("SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))")
-    List<Book> findByAuthorIgnoreCaseLike(@Param("author") String author);
+    @Query("SELECT new bookShop.model.projection.BookSnapshot(b.id, b.title, b.author, b.price) FROM Book b WHERE b.id = :id")
+    Optional<BookSnapshot> findSnapshotById(@Param("id") Long id);
+    @Query("SELECT new bookShop.model.projection.BookSnapshot(b.id, b.title, b.author, b.price) FROM Book b WHERE b.id IN :ids")
+    List<BookSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+    @Query("SELECT b.copiesAvailable FROM Book b WHERE b.id = :id")
+    Optional<Integer> findCopiesAvailableById(@Param("id") Long id);
+    @Query("SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ORDER BY b.id")
+    List<Book> findByTitleIgnoreCaseLike(@Param("title") String title, Pageable pageable);
+    @Query("SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ORDER BY b.id")
+    List<Book> findByAuthorIgnoreCaseLike(@Param("author") String author, Pageable pageable);
+    @Query(value = "SELECT * FROM book WHERE lower(title) LIKE lower(concat('%', :title, '%')) " +
+            "ORDER BY similarity(lower(title), lower(:title)) DESC, id LIMIT :limit", nativeQuery = true)
+    List<Book> searchByTitleRanked(@Param("title") String title, @Param("limit") int limit);
+    @Query(value = "SELECT * FROM book WHERE lower(author) LIKE lower(concat('%', :author, '%')) " +
+            "ORDER BY similarity(lower(author), lower(:author)) DESC, id LIMIT :limit", nativeQuery = true)
+    List<Book> searchByAuthorRanked(@Param("author") String author, @Param("limit") int limit);
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Book b WHERE LOWER(b.title) = LOWER(:title) AND LOWER(b.author) = LOWER(:author)")
     boolean existsByTitleAndAuthorIgnoreCase(@Param("title") String title, @Param("author") String author);
-
+    @Query("SELECT LOWER(b.title), LOWER(b.author) FROM Book b WHERE LOWER(b.title) IN :titles")
+    List<Object[]> findTitleAuthorPairsByLowerTitleIn(@Param("titles") Collection<String> titles);
+    @Modifying
+    @Query("UPDATE Book b SET b.copiesAvailable = b.copiesAvailable - 1, b.version = b.version + 1 WHERE b.id = :id AND b.copiesAvailable > 0")
+    int decrementCopiesAvailable(@Param("id") Long id);
+    @Modifying
+    @Query("UPDATE Book b SET b.copiesAvailable = b.copiesAvailable + 1, b.version = b.version + 1 WHERE b.id = :id")
+    int incrementCopiesAvailable(@Param("id") Long id);
+    // UPDATE ... RETURNING выполняется как выборка, а не через @Modifying: Hibernate не видит изменения
+    // таблицы book, поэтому уже загруженные в контекст сущности Book остаются устаревшими. LoanService.issueBooks
+    // работает только со снимками и после коммита вызывает BookCatalogueCache.evictAvailability для книг пакета.
+    // Строки блокируются в порядке id, чтобы встречные пакетные выдачи не взаимоблокировались.
+    @Query(value = "UPDATE book b SET copies_available = b.copies_available - 1, version = b.version + 1 " +
+            "FROM (SELECT id FROM book WHERE id IN (:ids) ORDER BY id FOR UPDATE) locked " +
+            "WHERE b.id = locked.id AND b.copies_available > 0 RETURNING b.id", nativeQuery = true)
+    List<Number> decrementCopiesAvailableIn(@Param("ids") Collection<Long> ids);
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids AND b.copiesAvailable > 0")
+    List<Long> findIdsInStock(@Param("ids") Collection<Long> ids);
+    @Modifying
+    @Query("UPDATE Book b SET b.copiesAvailable = b.copiesAvailable + 1, b.version = b.version + 1 WHERE b.id IN :ids")
+    int incrementCopiesAvailableIn(@Param("ids") Collection<Long> ids);
+    @Modifying
+    @Query(value = "UPDATE book b SET copies_available = b.copies_available + c.cnt, version = b.version + 1 " +
+            "FROM (SELECT book_id, count(*) AS cnt FROM loan WHERE id IN (:loanIds) GROUP BY book_id) c " +
+            "WHERE b.id = c.book_id", nativeQuery = true)
+    int restockReturnedLoans(@Param("loanIds") Collection<Long> loanIds);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAll();
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Book> findPageAfterId(@Param("afterId") long afterId, Pageable pageable);
+    @Query("SELECT b FROM Book b ORDER BY b.title, b.id")
+    List<Book> findFirstPageByTitle(Pageable pageable);
+    @Query("SELECT b FROM Book b WHERE b.title > :title OR (b.title = :title AND b.id > :afterId) ORDER BY b.title, b.id")
+    List<Book> findPageAfterTitle(@Param("title") String title, @Param("afterId") long afterId, Pageable pageable);
 }
-
-
-
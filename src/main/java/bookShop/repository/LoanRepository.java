@@ -1,11 +1,32 @@
 package bookShop.repository;
 
 import bookShop.model.Loan;
+import bookShop.model.projection.ActiveLoanView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface LoanRepository extends JpaRepository<Loan, Long> {
-    List<Loan> findByAppUserIdAndReturnedDateIsNull(Long userId);
-    List<Loan> findByBookIdAndReturnedDateIsNull(Long bookId);
+    @Query("SELECT l FROM Loan l JOIN FETCH l.book WHERE l.appUser.id = :userId AND l.returnedDate IS NULL")
+    List<Loan> findByAppUserIdAndReturnedDateIsNull(@Param("userId") Long userId);
+    @Query("SELECT l FROM Loan l JOIN FETCH l.book WHERE l.id IN :ids")
+    List<Loan> findAllWithBookByIdIn(@Param("ids") Collection<Long> ids);
+    @Query(value = "UPDATE loan SET returned_date = :returnedDate, version = version + 1 " +
+            "WHERE id IN (:ids) AND app_user_id = :userId AND returned_date IS NULL RETURNING id", nativeQuery = true)
+    List<Number> markReturned(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                              @Param("returnedDate") LocalDate returnedDate);
+    @Query("SELECT new bookShop.model.projection.ActiveLoanView(l.appUser.id, l.id, b.id, b.title, l.loanDate, l.dueDate) " +
+            "FROM Loan l JOIN l.book b WHERE l.returnedDate IS NULL AND l.appUser.id IN :userIds ORDER BY l.id")
+    List<ActiveLoanView> findActiveLoanViewsByUserIds(@Param("userIds") Collection<Long> userIds);
+    @Query("SELECT l FROM Loan l JOIN FETCH l.book WHERE l.appUser.id = :userId AND l.returnedDate IS NULL " +
+            "AND l.id > :afterId ORDER BY l.id")
+    List<Loan> findActivePageByUserId(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable pageable);
+    @Query("SELECT l FROM Loan l JOIN FETCH l.book WHERE l.book.id = :bookId AND l.returnedDate IS NULL " +
+            "AND l.id > :afterId ORDER BY l.id")
+    List<Loan> findActivePageByBookId(@Param("bookId") Long bookId, @Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,138 @@
+package bookShop.security;
+
+import bookShop.exception.TooManyRequestsException;
+import bookShop.model.response.PasswordHashingStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long waitTimeoutMs;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long waitTimeoutMs) {
+        this.delegate = delegate;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.waitTimeoutMs = Math.max(1, waitTimeoutMs);
+        int threads = Math.max(1, poolSize);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public PasswordHashingStatsResponse stats() {
+        PasswordHashingStatsResponse dto = new PasswordHashingStatsResponse();
+        long done = completed.sum();
+        dto.setPoolSize(executor.getCorePoolSize());
+        dto.setActiveThreads(executor.getActiveCount());
+        dto.setQueueDepth(executor.getQueue().size());
+        dto.setQueueCapacity(queueCapacity);
+        dto.setCompleted(done);
+        dto.setRejected(rejected.sum());
+        dto.setTimedOut(timedOut.sum());
+        dto.setAverageWaitMs(done == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / done);
+        dto.setAverageHashMs(done == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / done);
+        dto.setMaxHashMs(maxHashNanos.get() / 1_000_000.0);
+        return dto;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    long hashed = System.nanoTime() - startedAt;
+                    waitNanos.add(startedAt - submittedAt);
+                    hashNanos.add(hashed);
+                    maxHashNanos.accumulate(hashed);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Очередь хеширования паролей переполнена ({} задач), запрос отклонён", executor.getQueue().size());
+            throw new TooManyRequestsException("Слишком много запросов авторизации, повторите попытку позже", retryAfterSeconds());
+        }
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание хеширования пароля прервано", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            log.warn("Хеширование пароля не завершилось за {} мс ({} задач в очереди), запрос отклонён",
+                    waitTimeoutMs, executor.getQueue().size());
+            throw new TooManyRequestsException("Слишком много запросов авторизации, повторите попытку позже", retryAfterSeconds());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException("Ошибка хеширования пароля", cause);
+        }
+    }
+
+    private long retryAfterSeconds() {
+        return Math.max(1, (waitTimeoutMs + 999) / 1000);
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
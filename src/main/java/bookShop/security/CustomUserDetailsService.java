@@ -5,29 +5,58 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import bookShop.repository.AppUserRepository;
-import bookShop.model.AppUserDetails;
-import bookShop.model.AppUser;
+import bookShop.model.response.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
 @Slf4j
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final AppUserRepository userRepository;
+    private final Cache<String, UserSnapshot> cache;
+    private final LongAdder invalidations = new LongAdder();
 
     @Autowired
-    public CustomUserDetailsService(AppUserRepository userRepository) {
+    public CustomUserDetailsService(AppUserRepository userRepository,
+                                    @Value("${bookshop.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${bookshop.user-cache.ttl-ms:300000}") long ttlMs) {
         this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        AppUser user = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    log.warn("Попытка входа с несуществующим пользователем: [{}]", username);
-                    return new UsernameNotFoundException("Пользователь не найден");
-                });
-        log.info("Пользователь [{}] успешно найден для авторизации", username);
-        return new AppUserDetails(user);
+        UserSnapshot snapshot = cache.getIfPresent(username);
+        if (snapshot == null) {
+            snapshot = userRepository.findSnapshotByUsername(username)
+                    .orElseThrow(() -> {
+                        log.warn("Попытка входа с несуществующим пользователем: [{}]", username);
+                        return new UsernameNotFoundException("Пользователь не найден");
+                    });
+            cache.put(username, snapshot);
+            log.info("Пользователь [{}] успешно найден для авторизации", username);
+        }
+        return snapshot.toUserDetails();
+    }
+
+    public void evict(String username) {
+        if (username != null && cache.asMap().remove(username) != null) {
+            invalidations.increment();
+            log.debug("Пользователь [{}] удалён из кэша авторизации", username);
+        }
+    }
+
+    public CacheStatsResponse cacheStats() {
+        return CacheStatsResponse.from("userDetails", cache, invalidations.sum());
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,10 @@
 package bookShop.security;
 
 import lombok.extern.slf4j.Slf4j;
+import bookShop.model.AppUserDetails;
+import bookShop.model.Role;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,6 +24,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     @Autowired
     private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    @Value("${bookshop.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -28,23 +37,26 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        JwtClaims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
+            String token = authHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(token);
-                log.debug("JWT токен получен из запроса, username: [{}]", username);
+                claims = verifiedTokenCache.verify(token);
+                log.debug("JWT токен получен из запроса, username: [{}]", claims.getUsername());
             } catch (Exception e) {
                 log.warn("Не удалось извлечь username из токена: {}", e.getMessage());
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (claims != null && claims.getUsername() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = claims.getUsername();
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.validateToken(token, userDetails)) {
+                UserDetails userDetails = isStatelessToken(claims)
+                        ? loadUserFromClaims(claims)
+                        : userDetailsService.loadUserByUsername(username);
+                if (userDetails != null && jwtUtil.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails, null, userDetails.getAuthorities()
@@ -61,4 +73,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private boolean isStatelessToken(JwtClaims claims) {
+        return stateless && claims.getUserId() != null
+                && claims.getTokenVersion() != null && claims.getRole() != null;
+    }
+
+    private UserDetails loadUserFromClaims(JwtClaims claims) {
+        if (!tokenVersionRegistry.isCurrent(claims.getUserId(), claims.getTokenVersion())) {
+            log.warn("Версия JWT токена пользователя [{}] устарела", claims.getUsername());
+            return null;
+        }
+        return AppUserDetails.fromClaims(
+                claims.getUserId(),
+                claims.getUsername(),
+                Role.valueOf(claims.getRole()),
+                claims.getTokenVersion()
+        );
+    }
 }
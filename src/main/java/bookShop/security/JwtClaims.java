@@ -0,0 +1,23 @@
+package bookShop.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Date;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtClaims {
+    private final Long userId;
+    private final String username;
+    private final String role;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Integer tokenVersion;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
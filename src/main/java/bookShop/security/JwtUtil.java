@@ -1,5 +1,6 @@
 package bookShop.security;
 
+import bookShop.model.AppUserDetails;
 import io.jsonwebtoken.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -14,9 +15,11 @@ public class JwtUtil {
     private final String jwtSecret = "your_secret_key";
     private final long jwtExpirationMs = 24 * 60 * 60 * 1000; // сутки
 
-    public String generateToken(bookShop.model.AppUserDetails userDetails) {
+    public String generateToken(AppUserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", userDetails.getRole().name());
+        claims.put("uid", userDetails.getId());
+        claims.put("ver", userDetails.getTokenVersion());
         String token = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
@@ -28,46 +31,41 @@ public class JwtUtil {
         return token;
     }
 
-    public String extractRole(String token) {
+    public JwtClaims parseToken(String token) {
         try {
-            String role = (String) Jwts.parser()
+            Claims body = Jwts.parser()
                     .setSigningKey(jwtSecret)
                     .parseClaimsJws(token)
-                    .getBody()
-                    .get("role");
-            log.debug("Роль [{}] извлечена из JWT токена", role);
-            return role;
+                    .getBody();
+            Number userId = body.get("uid", Number.class);
+            Number tokenVersion = body.get("ver", Number.class);
+            JwtClaims claims = new JwtClaims(
+                    userId != null ? userId.longValue() : null,
+                    body.getSubject(),
+                    body.get("role", String.class),
+                    body.getIssuedAt(),
+                    body.getExpiration(),
+                    tokenVersion != null ? tokenVersion.intValue() : null
+            );
+            log.debug("JWT токен разобран: username [{}], роль [{}]", claims.getUsername(), claims.getRole());
+            return claims;
         } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Ошибка при извлечении роли из токена: {}", e.getMessage());
+            log.warn("Ошибка при разборе JWT токена: {}", e.getMessage());
             throw e;
         }
     }
 
+    public String extractRole(String token) {
+        return parseToken(token).getRole();
+    }
+
     public String extractUsername(String token) {
-        try {
-            String username = Jwts.parser()
-                    .setSigningKey(jwtSecret)
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-            log.debug("Имя пользователя [{}] извлечено из JWT токена", username);
-            return username;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Ошибка при извлечении имени пользователя из токена: {}", e.getMessage());
-            throw e;
-        }
+        return parseToken(token).getUsername();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            boolean valid = username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-            if (valid) {
-                log.info("JWT токен успешно валидирован для пользователя [{}]", username);
-            } else {
-                log.warn("JWT токен не валиден для пользователя [{}]", userDetails.getUsername());
-            }
-            return valid;
+            return validateToken(parseToken(token), userDetails);
         } catch (ExpiredJwtException e) {
             log.warn("JWT токен истёк: {}", e.getMessage());
             return false;
@@ -77,21 +75,23 @@ public class JwtUtil {
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = Jwts.parser()
-                    .setSigningKey(jwtSecret)
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getExpiration();
-            boolean expired = expiration.before(new Date());
-            if (expired) {
-                log.debug("JWT токен истёк (expiration: {})", expiration);
-            }
-            return expired;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Ошибка при проверке истечения срока действия токена: {}", e.getMessage());
+    public boolean validateToken(JwtClaims claims, UserDetails userDetails) {
+        boolean valid = claims.getUsername() != null
+                && claims.getUsername().equals(userDetails.getUsername())
+                && !claims.isExpired()
+                && isTokenVersionCurrent(claims, userDetails);
+        if (valid) {
+            log.debug("JWT токен успешно валидирован для пользователя [{}]", claims.getUsername());
+        } else {
+            log.warn("JWT токен не валиден для пользователя [{}]", userDetails.getUsername());
+        }
+        return valid;
+    }
+
+    private boolean isTokenVersionCurrent(JwtClaims claims, UserDetails userDetails) {
+        if (claims.getTokenVersion() == null || !(userDetails instanceof AppUserDetails)) {
             return true;
         }
+        return claims.getTokenVersion() == ((AppUserDetails) userDetails).getTokenVersion();
     }
-}
\ No newline at end of file
+}
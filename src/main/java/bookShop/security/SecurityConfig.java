@@ -3,18 +3,24 @@ package bookShop.security;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
@@ -59,9 +65,62 @@ public class SecurityConfig {
         return authProvider;
     }
 
+    @Value("${bookshop.password-hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${bookshop.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${bookshop.password-hashing.wait-timeout-ms:5000}")
+    private long hashingWaitTimeoutMs;
+
+    @Value("${bookshop.password.encoder:bcrypt}")
+    private String passwordEncoderId;
+
+    @Value("${bookshop.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${bookshop.password.pbkdf2-iterations:310000}")
+    private int pbkdf2Iterations;
+
+    @Value("${bookshop.password.pbkdf2-legacy-iterations:}")
+    private int[] pbkdf2LegacyIterations;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        int poolSize = hashingPoolSize > 0 ? hashingPoolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(), poolSize, hashingQueueCapacity, hashingWaitTimeoutMs);
+    }
+
+    // PBKDF2 не хранит число итераций в хеше, поэтому оно входит в id: {pbkdf2@310000}.
+    // Прежние значения остаются в pbkdf2-legacy-iterations, такие хеши пересчитываются при входе.
+    // Хеши без префикса (BCrypt исходной версии) проверяются кодировщиком по умолчанию.
+    private PasswordEncoder delegatingPasswordEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        for (int iterations : pbkdf2LegacyIterations) {
+            encoders.put(pbkdf2Id(iterations), pbkdf2(iterations));
+        }
+        encoders.put(pbkdf2Id(pbkdf2Iterations), pbkdf2(pbkdf2Iterations));
+        String idForEncode = switch (passwordEncoderId) {
+            case "bcrypt" -> "bcrypt";
+            case "pbkdf2" -> pbkdf2Id(pbkdf2Iterations);
+            default -> throw new IllegalStateException("Неизвестный алгоритм хеширования паролей: " + passwordEncoderId);
+        };
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    private static String pbkdf2Id(int iterations) {
+        return "pbkdf2@" + iterations;
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        Pbkdf2PasswordEncoder pbkdf2 = new Pbkdf2PasswordEncoder("", 16, iterations, 256);
+        pbkdf2.setAlgorithm(Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        return pbkdf2;
     }
 
     @Bean
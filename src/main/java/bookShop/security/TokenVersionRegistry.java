@@ -0,0 +1,69 @@
+package bookShop.security;
+
+import bookShop.model.response.CacheStatsResponse;
+import bookShop.repository.AppUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+
+    private final AppUserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+    private final LongAdder invalidations = new LongAdder();
+
+    public TokenVersionRegistry(AppUserRepository userRepository,
+                                @Value("${bookshop.jwt.revalidate-interval-ms:60000}") long revalidateIntervalMs,
+                                @Value("${bookshop.jwt.token-version-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(revalidateIntervalMs))
+                .recordStats()
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer version = versions.getIfPresent(userId);
+        boolean fresh = false;
+        if (version == null) {
+            version = reload(userId);
+            fresh = true;
+        }
+        if (version != null && version != tokenVersion && !fresh) {
+            version = reload(userId);
+        }
+        return version != null && version == tokenVersion;
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null && versions.asMap().remove(userId) != null) {
+            invalidations.increment();
+            log.debug("Версия токенов пользователя [{}] будет перепроверена в БД", userId);
+        }
+    }
+
+    public CacheStatsResponse cacheStats() {
+        return CacheStatsResponse.from("tokenVersions", versions, invalidations.sum());
+    }
+
+    private Integer reload(Long userId) {
+        Optional<Integer> version = userRepository.findTokenVersionById(userId);
+        if (version.isEmpty()) {
+            versions.invalidate(userId);
+            log.warn("Пользователь [{}] из JWT токена не найден при перепроверке", userId);
+            return null;
+        }
+        versions.put(userId, version.get());
+        log.debug("Версия токенов пользователя [{}] перепроверена в БД: {}", userId, version.get());
+        return version.get();
+    }
+}
@@ -0,0 +1,27 @@
+package bookShop.security;
+
+import bookShop.model.AppUser;
+import bookShop.model.AppUserDetails;
+import bookShop.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserSnapshot {
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final Role role;
+    private final int tokenVersion;
+
+    public AppUserDetails toUserDetails() {
+        return new AppUserDetails(AppUser.builder()
+                .id(id)
+                .username(username)
+                .password(password)
+                .role(role)
+                .tokenVersion(tokenVersion)
+                .build());
+    }
+}
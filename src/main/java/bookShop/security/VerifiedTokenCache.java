@@ -0,0 +1,98 @@
+package bookShop.security;
+
+import bookShop.model.response.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final Cache<TokenDigest, JwtClaims> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${bookshop.jwt.token-cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiration())
+                .recordStats()
+                .build();
+    }
+
+    public JwtClaims verify(String token) {
+        TokenDigest digest = TokenDigest.of(token);
+        JwtClaims claims = cache.getIfPresent(digest);
+        if (claims != null && !claims.isExpired()) {
+            return claims;
+        }
+        claims = jwtUtil.parseToken(token);
+        if (claims.getExpiration() != null) {
+            cache.put(digest, claims);
+        }
+        return claims;
+    }
+
+    public CacheStatsResponse cacheStats() {
+        return CacheStatsResponse.from("verifiedTokens", cache, 0);
+    }
+
+    @EqualsAndHashCode
+    private static final class TokenDigest {
+        private final long h0;
+        private final long h1;
+        private final long h2;
+        private final long h3;
+
+        private TokenDigest(ByteBuffer hash) {
+            this.h0 = hash.getLong();
+            this.h1 = hash.getLong();
+            this.h2 = hash.getLong();
+            this.h3 = hash.getLong();
+        }
+
+        static TokenDigest of(String token) {
+            MessageDigest sha = SHA_256.get();
+            sha.reset();
+            return new TokenDigest(ByteBuffer.wrap(sha.digest(token.getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+
+    private static final class UntilTokenExpiration implements Expiry<TokenDigest, JwtClaims> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtClaims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -13,6 +13,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import bookShop.model.response.AuthResponse;
+import bookShop.security.CustomUserDetailsService;
+import bookShop.security.UserSnapshot;
 import bookShop.model.request.AuthRequest;
 import bookShop.model.response.UserResponse;
 import bookShop.exception.InvalidCredentialsException;
@@ -29,6 +31,7 @@ public class AuthService {
     private final AppUserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final bookShop.security.JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
     private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     public UserResponse register(RegisterRequest request) {
@@ -62,16 +65,31 @@ public class AuthService {
 
     public AuthResponse login(AuthRequest request) {
         log.info("Попытка входа пользователя: {}", request.getUsername());
-        AppUser user = userRepository.findByUsername(request.getUsername())
+        UserSnapshot user = userRepository.findSnapshotByUsername(request.getUsername())
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("Неверный логин или пароль");
         }
-        String token = jwtUtil.generateToken(new AppUserDetails(user));
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            upgradePasswordHash(user, request.getPassword());
+        }
+        String token = jwtUtil.generateToken(user.toUserDetails());
         log.info("Пользователь [{}] успешно вошёл в систему", request.getUsername());
         return new AuthResponse(token, user.getId(), user.getRole().name());
     }
 
+    private void upgradePasswordHash(UserSnapshot user, String rawPassword) {
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePasswordHash(user.getId(), user.getPassword(), newHash) > 0) {
+                userDetailsService.evict(user.getUsername());
+                log.info("Хеш пароля пользователя [{}] обновлён до текущих параметров", user.getUsername());
+            }
+        } catch (TooManyRequestsException e) {
+            log.debug("Обновление хеша пароля пользователя [{}] отложено: пул хеширования перегружен", user.getUsername());
+        }
+    }
+
     public AppUserDetails loadUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .map(AppUserDetails::new)
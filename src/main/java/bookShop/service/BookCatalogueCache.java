@@ -0,0 +1,119 @@
+package bookShop.service;
+
+import bookShop.model.projection.BookSnapshot;
+import bookShop.model.response.CacheStatsResponse;
+import bookShop.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class BookCatalogueCache {
+
+    private final BookRepository bookRepository;
+    private final Cache<Long, BookSnapshot> snapshots;
+    private final Cache<Long, Integer> availability;
+    private final LongAdder snapshotInvalidations = new LongAdder();
+    private final LongAdder availabilityInvalidations = new LongAdder();
+    private final AtomicLong snapshotGeneration = new AtomicLong();
+    private final AtomicLong availabilityGeneration = new AtomicLong();
+
+    public BookCatalogueCache(BookRepository bookRepository,
+                              @Value("${bookshop.book-cache.max-size:10000}") long maxSize,
+                              @Value("${bookshop.book-cache.ttl-ms:600000}") long ttlMs,
+                              @Value("${bookshop.book-cache.availability-ttl-ms:1000}") long availabilityTtlMs) {
+        this.bookRepository = bookRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.availability = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(availabilityTtlMs))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<BookSnapshot> find(Long id) {
+        BookSnapshot snapshot = snapshots.getIfPresent(id);
+        if (snapshot == null) {
+            long generation = snapshotGeneration.get();
+            snapshot = bookRepository.findSnapshotById(id).orElse(null);
+            if (snapshot != null) {
+                cacheLoaded(snapshots, snapshotGeneration, generation, id, snapshot);
+            }
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    public Map<Long, BookSnapshot> findAll(Collection<Long> ids) {
+        Map<Long, BookSnapshot> found = new HashMap<>(snapshots.getAllPresent(ids));
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            long generation = snapshotGeneration.get();
+            for (BookSnapshot snapshot : bookRepository.findSnapshotsByIdIn(missing)) {
+                cacheLoaded(snapshots, snapshotGeneration, generation, snapshot.getId(), snapshot);
+                found.put(snapshot.getId(), snapshot);
+            }
+        }
+        return found;
+    }
+
+    public int displayedCopiesAvailable(Long id) {
+        Integer copies = availability.getIfPresent(id);
+        if (copies == null) {
+            long generation = availabilityGeneration.get();
+            copies = bookRepository.findCopiesAvailableById(id).orElse(0);
+            cacheLoaded(availability, availabilityGeneration, generation, id, copies);
+        }
+        return copies;
+    }
+
+    public void evict(Long id) {
+        snapshotGeneration.incrementAndGet();
+        if (snapshots.asMap().remove(id) != null) {
+            snapshotInvalidations.increment();
+            log.debug("Книга [{}] удалена из кэша каталога", id);
+        }
+        evictAvailability(id);
+    }
+
+    public void evictAvailability(Long id) {
+        availabilityGeneration.incrementAndGet();
+        if (availability.asMap().remove(id) != null) {
+            availabilityInvalidations.increment();
+        }
+    }
+
+    public void evictAvailability(Collection<Long> ids) {
+        ids.forEach(this::evictAvailability);
+    }
+
+    // Значение, прочитанное до вытеснения, не должно попасть в кэш после него: вытеснение сначала
+    // сдвигает поколение, поэтому если оно изменилось за время загрузки, запись снимается обратно.
+    private static <V> void cacheLoaded(Cache<Long, V> cache, AtomicLong generation, long loadedAt, Long id, V value) {
+        if (generation.get() != loadedAt) {
+            return;
+        }
+        cache.put(id, value);
+        if (generation.get() != loadedAt) {
+            cache.asMap().remove(id, value);
+        }
+    }
+
+    public List<CacheStatsResponse> cacheStats() {
+        return List.of(
+                CacheStatsResponse.from("bookSnapshots", snapshots, snapshotInvalidations.sum()),
+                CacheStatsResponse.from("bookAvailability", availability, availabilityInvalidations.sum())
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package bookShop.service;
+
+import bookShop.model.Book;
+import bookShop.model.response.BookResponse;
+import bookShop.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public void exportNdjson(OutputStream out) throws IOException {
+        log.info("Начат потоковый экспорт каталога книг");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        long exported;
+        try {
+            exported = transaction.execute(status -> writeAll(out));
+        } catch (UncheckedIOException e) {
+            log.warn("Экспорт каталога прерван клиентом: {}", e.getCause().getMessage());
+            throw e.getCause();
+        }
+        log.info("Потоковый экспорт каталога завершён, выгружено книг: {}", exported);
+    }
+
+    private long writeAll(OutputStream out) {
+        long count = 0;
+        try (Stream<Book> books = bookRepository.streamAll();
+             SequenceWriter writer = objectMapper.writerFor(BookResponse.class)
+                     .withRootValueSeparator("\n")
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .writeValues(out)) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                writer.write(BookResponse.from(book));
+                entityManager.detach(book);
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,256 @@
+package bookShop.service;
+
+import bookShop.exception.ValidationException;
+import bookShop.model.Book;
+import bookShop.model.request.BookRequest;
+import bookShop.model.response.BookImportErrorResponse;
+import bookShop.model.response.BookImportResponse;
+import bookShop.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+
+    private static final String CSV_HEADER = "title,author,price,copiesavailable";
+    private static final int CSV_COLUMNS = 4;
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final CatalogueVersion catalogueVersion;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${bookshop.books.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${bookshop.books.import.max-errors:1000}")
+    private int maxErrors;
+
+    public BookImportResponse importJson(InputStream in) throws IOException {
+        log.info("Начат импорт книг из JSON");
+        ImportRun run = new ImportRun();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ValidationException("Ожидается JSON-массив книг");
+            }
+            long row = 0;
+            try {
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                    row++;
+                    if (token == null) {
+                        run.reject(row, null, "VALIDATION_ERROR", "Неожиданный конец JSON, импорт остановлен");
+                        break;
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        run.accept(row, objectMapper.treeToValue(node, BookRequest.class));
+                    } catch (JsonProcessingException e) {
+                        run.reject(row, null, "VALIDATION_ERROR", "Некорректный формат JSON");
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                run.reject(row, null, "VALIDATION_ERROR", "Некорректный JSON, импорт остановлен");
+            }
+        }
+        return run.finish();
+    }
+
+    public BookImportResponse importCsv(InputStream in) throws IOException {
+        log.info("Начат импорт книг из CSV");
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line != null && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+            line = line.substring(1);
+        }
+        if (line != null && line.replace(" ", "").equalsIgnoreCase(CSV_HEADER)) {
+            line = reader.readLine();
+        }
+        long row = 0;
+        for (; line != null; line = reader.readLine()) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            List<String> fields = splitCsvLine(line);
+            if (fields == null || fields.size() != CSV_COLUMNS) {
+                run.reject(row, null, "VALIDATION_ERROR", "Ожидается 4 поля: title,author,price,copiesAvailable");
+                continue;
+            }
+            BookRequest request = new BookRequest(trimToNull(fields.get(0)), trimToNull(fields.get(1)), null, null);
+            try {
+                String price = trimToNull(fields.get(2));
+                String copies = trimToNull(fields.get(3));
+                request.setPrice(price == null ? null : Double.valueOf(price));
+                request.setCopiesAvailable(copies == null ? null : Integer.valueOf(copies));
+            } catch (NumberFormatException e) {
+                run.reject(row, request, "VALIDATION_ERROR", "price и copiesAvailable должны быть числами");
+                continue;
+            }
+            run.accept(row, request);
+        }
+        return run.finish();
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String trimToNull(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String key(String title, String author) {
+        return title.toLowerCase(Locale.ROOT) + '\n' + author.toLowerCase(Locale.ROOT);
+    }
+
+    private class ImportRun {
+        private final BookImportResponse result = new BookImportResponse();
+        private final Set<String> seenKeys = new HashSet<>();
+        private final List<Long> pendingRows = new ArrayList<>(chunkSize);
+        private final List<BookRequest> pending = new ArrayList<>(chunkSize);
+        private final long startedAt = System.currentTimeMillis();
+
+        void accept(long row, BookRequest request) {
+            result.setTotal(result.getTotal() + 1);
+            Set<ConstraintViolation<BookRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                addError(row, request, "VALIDATION_ERROR", message);
+                result.setFailed(result.getFailed() + 1);
+                return;
+            }
+            if (!seenKeys.add(key(request.getTitle(), request.getAuthor()))) {
+                duplicate(row, request, "Книга повторяется в импортируемом файле");
+                return;
+            }
+            pendingRows.add(row);
+            pending.add(request);
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, BookRequest request, String error, String message) {
+            result.setTotal(result.getTotal() + 1);
+            result.setFailed(result.getFailed() + 1);
+            addError(row, request, error, message);
+        }
+
+        BookImportResponse finish() {
+            flush();
+            log.info("Импорт книг завершён за {} мс: всего {}, добавлено {}, дубликатов {}, ошибок {}",
+                    System.currentTimeMillis() - startedAt, result.getTotal(), result.getImported(),
+                    result.getDuplicates(), result.getFailed());
+            return result;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<String> titles = pending.stream()
+                    .map(request -> request.getTitle().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            Set<String> existing = bookRepository.findTitleAuthorPairsByLowerTitleIn(titles).stream()
+                    .map(pair -> pair[0] + "\n" + pair[1])
+                    .collect(Collectors.toSet());
+            List<Book> books = new ArrayList<>(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                BookRequest request = pending.get(i);
+                if (existing.contains(key(request.getTitle(), request.getAuthor()))) {
+                    duplicate(pendingRows.get(i), request, "Книга с таким названием и автором уже существует");
+                    continue;
+                }
+                books.add(Book.builder()
+                        .title(request.getTitle())
+                        .author(request.getAuthor())
+                        .price(request.getPrice())
+                        .copiesAvailable(request.getCopiesAvailable())
+                        .build());
+            }
+            pending.clear();
+            pendingRows.clear();
+            if (books.isEmpty()) {
+                return;
+            }
+            List<Book> saved = new TransactionTemplate(transactionManager).execute(status -> bookRepository.saveAll(books));
+            saved.forEach(bookSearchIndex::add);
+            catalogueVersion.bump();
+            entityManager.clear();
+            result.setImported(result.getImported() + saved.size());
+            log.debug("Импортирована партия книг: {}, всего добавлено {}", saved.size(), result.getImported());
+        }
+
+        private void duplicate(long row, BookRequest request, String message) {
+            result.setDuplicates(result.getDuplicates() + 1);
+            addError(row, request, "BOOK_ALREADY_EXISTS", message);
+        }
+
+        private void addError(long row, BookRequest request, String error, String message) {
+            if (result.getErrors().size() >= maxErrors) {
+                result.setErrorsTruncated(true);
+                return;
+            }
+            result.getErrors().add(new BookImportErrorResponse(row,
+                    request == null ? null : request.getTitle(),
+                    request == null ? null : request.getAuthor(),
+                    error, message));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package bookShop.service;
+
+import bookShop.model.Book;
+import bookShop.repository.BookRepository;
+import bookShop.util.LongObjectHashMap;
+import bookShop.util.LongPostingList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    public static final String ENGINE_MEMORY = "memory";
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final boolean enabled;
+    private final TrigramIndex titles = new TrigramIndex();
+    private final TrigramIndex authors = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public BookSearchIndex(BookRepository bookRepository,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${bookshop.search.engine:database}") String engine) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.transactionManager = transactionManager;
+        this.enabled = ENGINE_MEMORY.equalsIgnoreCase(engine);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public boolean canSearch(String query) {
+        return isReady() && query != null && query.length() >= MIN_QUERY_LENGTH;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Построение индекса поиска книг в памяти");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Long indexed = transaction.execute(status -> {
+            long count = 0;
+            try (Stream<Book> books = bookRepository.streamAll()) {
+                for (Book book : (Iterable<Book>) books::iterator) {
+                    add(book);
+                    entityManager.detach(book);
+                    count++;
+                }
+            }
+            return count;
+        });
+        ready = true;
+        log.info("Индекс поиска книг построен, книг в индексе: {}", indexed);
+    }
+
+    public void add(Book book) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            titles.add(book.getId(), book.getTitle());
+            authors.add(book.getId(), book.getAuthor());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Book book) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            titles.remove(book.getId(), book.getTitle());
+            authors.remove(book.getId(), book.getAuthor());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long[] searchByTitle(String query, int limit) {
+        return search(titles, query, limit);
+    }
+
+    public long[] searchByAuthor(String query, int limit) {
+        return search(authors, query, limit);
+    }
+
+    private long[] search(TrigramIndex index, String query, int limit) {
+        long[] queryTrigrams = trigrams(normalize(query));
+        if (queryTrigrams.length == 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(queryTrigrams, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] trigrams(String text) {
+        if (text.length() < MIN_QUERY_LENGTH) {
+            return new long[0];
+        }
+        long[] result = new long[text.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    private static final class TrigramIndex {
+        private final LongObjectHashMap<LongPostingList> postings = new LongObjectHashMap<>();
+
+        void add(long id, String text) {
+            for (long trigram : trigrams(normalize(text))) {
+                postings.computeIfAbsent(trigram, key -> new LongPostingList()).add(id);
+            }
+        }
+
+        void remove(long id, String text) {
+            for (long trigram : trigrams(normalize(text))) {
+                LongPostingList list = postings.get(trigram);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+
+        long[] search(long[] queryTrigrams, int limit) {
+            List<LongPostingList> lists = new ArrayList<>(queryTrigrams.length);
+            for (long trigram : queryTrigrams) {
+                LongPostingList list = postings.get(trigram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(LongPostingList::size));
+            LongPostingList smallest = lists.get(0);
+            long[] result = new long[Math.min(limit, smallest.size())];
+            int found = 0;
+            for (int i = 0; i < smallest.size() && found < result.length; i++) {
+                long id = smallest.get(i);
+                if (containsInAll(lists, id)) {
+                    result[found++] = id;
+                }
+            }
+            return Arrays.copyOf(result, found);
+        }
+
+        private static boolean containsInAll(List<LongPostingList> lists, long id) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,43 +1,97 @@
 package bookShop.service;
 
 import bookShop.model.Book;
+import bookShop.model.projection.BookSnapshot;
 import bookShop.model.request.BookRequest;
+import bookShop.model.response.BookResponse;
 import bookShop.repository.BookRepository;
 import bookShop.exception.BookNotFoundException;
 import bookShop.exception.ForbiddenActionException;
 import bookShop.exception.BookAlreadyExistsException;
+import bookShop.exception.ValidationException;
+import bookShop.util.KeysetCursor;
+import bookShop.util.KeysetPage;
+import bookShop.util.PageSizeResolver;
 import lombok.RequiredArgsConstructor;
+import bookShop.config.SchemaInitializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookService {
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_TITLE = "title";
+
     private final BookRepository bookRepository;
+    private final PageSizeResolver pageSizeResolver;
+    private final SchemaInitializer schemaInitializer;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCatalogueCache bookCatalogueCache;
+    private final CatalogueVersion catalogueVersion;
+    @Value("${bookshop.search.max-results:100}")
+    private int maxSearchResults;
 
-    public List<Book> getAllBooks() {
-        List<Book> books = bookRepository.findAll();
-        if (books.isEmpty()) throw new BookNotFoundException("Книги не найдены");
-        return books;
+    public KeysetPage<Book> getAllBooks(String cursor, Integer size, String sort) {
+        int pageSize = pageSizeResolver.resolve(size);
+        Pageable limit = pageSizeResolver.lookahead(pageSize);
+        List<Book> books;
+        if (SORT_BY_TITLE.equals(sort)) {
+            KeysetCursor after = KeysetCursor.decode(cursor, SORT_BY_TITLE);
+            books = after == null
+                    ? bookRepository.findFirstPageByTitle(limit)
+                    : bookRepository.findPageAfterTitle(after.getValue(), after.getId(), limit);
+        } else if (SORT_BY_ID.equals(sort)) {
+            KeysetCursor after = KeysetCursor.decode(cursor, SORT_BY_ID);
+            books = bookRepository.findPageAfterId(after == null ? 0L : after.getId(), limit);
+        } else {
+            throw new ValidationException("Некорректное поле сортировки: " + sort);
+        }
+        if (books.isEmpty() && cursor == null) throw new BookNotFoundException("Книги не найдены");
+        return KeysetPage.of(books, pageSize, book -> KeysetCursor.encode(
+                sort, book.getId(), SORT_BY_TITLE.equals(sort) ? book.getTitle() : null));
     }
 
-    public Book getBookById(Long id) {
-        return bookRepository.findById(id)
+    public BookResponse getBookById(Long id) {
+        BookSnapshot book = bookCatalogueCache.find(id)
                 .orElseThrow(BookNotFoundException::new);
+        return book.toBookResponse(bookCatalogueCache.displayedCopiesAvailable(id));
     }
 
     public List<Book> getBooksByTitle(String title) {
         title = (title != null) ? title.trim() : null;
-        List<Book> books = bookRepository.findByTitleIgnoreCaseLike(title);
+        List<Book> books;
+        if (bookSearchIndex.canSearch(title)) {
+            books = findIndexedMatches(bookSearchIndex.searchByTitle(title, maxSearchResults), title, Book::getTitle);
+        } else if (schemaInitializer.isTrigramSearchAvailable()) {
+            books = bookRepository.searchByTitleRanked(title, maxSearchResults);
+        } else {
+            books = bookRepository.findByTitleIgnoreCaseLike(title, PageRequest.of(0, maxSearchResults));
+        }
         if (books.isEmpty()) throw new BookNotFoundException("Книги с указанным названием не найдены");
         return books;
     }
 
     public List<Book> getBooksByAuthor(String author) {
         author = (author != null) ? author.trim() : null;
-        List<Book> books = bookRepository.findByAuthorIgnoreCaseLike(author);
+        List<Book> books;
+        if (bookSearchIndex.canSearch(author)) {
+            books = findIndexedMatches(bookSearchIndex.searchByAuthor(author, maxSearchResults), author, Book::getAuthor);
+        } else if (schemaInitializer.isTrigramSearchAvailable()) {
+            books = bookRepository.searchByAuthorRanked(author, maxSearchResults);
+        } else {
+            books = bookRepository.findByAuthorIgnoreCaseLike(author, PageRequest.of(0, maxSearchResults));
+        }
         if (books.isEmpty()) throw new BookNotFoundException("Книги с указанным автором не найдены");
         return books;
     }
@@ -51,8 +105,11 @@ public class BookService {
                 .price(request.getPrice())
                 .copiesAvailable(request.getCopiesAvailable())
                 .build();
+        Book saved = bookRepository.save(book);
+        bookSearchIndex.add(saved);
+        catalogueVersion.bump();
         log.info("Книга успешно добавлена: [{}] [{}]", request.getTitle(), request.getAuthor());
-        return bookRepository.save(book);
+        return saved;
     }
 
     public Book updateBook(Long id, BookRequest request) {
@@ -62,19 +119,35 @@ public class BookService {
         validateUpdateNotChangeMainFields(book, request);
         book.setPrice(request.getPrice());
         book.setCopiesAvailable(request.getCopiesAvailable());
+        Book saved = bookRepository.save(book);
+        bookCatalogueCache.evict(id);
+        catalogueVersion.bump();
         log.info("Книга [{}] успешно обновлена", id);
-        return bookRepository.save(book);
+        return saved;
     }
 
     public void deleteBook(Long id) {
         log.warn("Попытка удаления админом книги [{}]", id);
-        if (!bookRepository.existsById(id)) {
-            throw new BookNotFoundException();
-        }
-        bookRepository.deleteById(id);
+        Book book = bookRepository.findById(id)
+                .orElseThrow(BookNotFoundException::new);
+        bookRepository.delete(book);
+        bookCatalogueCache.evict(id);
+        bookSearchIndex.remove(book);
+        catalogueVersion.bump();
         log.info("Книга [{}] удалена админом", id);
     }
 
+    private List<Book> findIndexedMatches(long[] ids, String query, Function<Book, String> field) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        String needle = query.toLowerCase(Locale.ROOT);
+        return bookRepository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList())).stream()
+                .filter(book -> field.apply(book).toLowerCase(Locale.ROOT).contains(needle))
+                .sorted(Comparator.comparing(Book::getId))
+                .collect(Collectors.toList());
+    }
+
     private void validateBookUnique(String title, String author) {
         if (bookRepository.existsByTitleAndAuthorIgnoreCase(title, author)) {
             throw new BookAlreadyExistsException("Книга с таким названием и автором уже существует");
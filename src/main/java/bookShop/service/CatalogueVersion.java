@@ -0,0 +1,40 @@
+package bookShop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class CatalogueVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<Stamp> current = new AtomicReference<>(new Stamp(0, truncateToSecond(System.currentTimeMillis())));
+
+    public Stamp current() {
+        return current.get();
+    }
+
+    // Last-Modified не опережает текущее время (RFC 7232, 2.2.1). Несколько изменений за одну
+    // секунду он не различает, их различает ETag: If-None-Match проверяется раньше If-Modified-Since.
+    public void bump() {
+        long now = truncateToSecond(System.currentTimeMillis());
+        current.updateAndGet(stamp -> new Stamp(stamp.version + 1, now));
+    }
+
+    private static long truncateToSecond(long millis) {
+        return millis - Math.floorMod(millis, 1000L);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public class Stamp {
+        private final long version;
+        private final long lastModified;
+
+        public String getEtag() {
+            return epoch + "-" + version;
+        }
+    }
+}
@@ -1,51 +1,106 @@
 package bookShop.service;
 
 import bookShop.model.*;
+import bookShop.model.projection.BookSnapshot;
 import bookShop.repository.*;
+import bookShop.exception.*;
+import bookShop.model.response.LoanBatchItemResponse;
+import bookShop.model.response.LoanBatchResponse;
+import bookShop.model.response.LoanResponse;
+import bookShop.util.KeysetCursor;
+import bookShop.util.KeysetPage;
+import bookShop.util.OptimisticRetryExecutor;
+import bookShop.util.PageSizeResolver;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LoanService {
 
+    private static final String SORT_BY_ID = "id";
+    private static final int RESERVE_ATTEMPTS = 3;
+
     private final LoanRepository loanRepository;
     private final BookRepository bookRepository;
     private final AppUserRepository appUserRepository;
     private final LoyaltyService loyaltyService;
     private final bookShop.validation.LoanValidator loanValidator;
+    private final PageSizeResolver pageSizeResolver;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final BookCatalogueCache bookCatalogueCache;
+    private final CatalogueVersion catalogueVersion;
+
+    @Value("${bookshop.loans.batch-max-size:50}")
+    private int batchMaxSize;
 
-    @Transactional
-    public Loan issueBook(Long bookId, Long userId) {
+    public LoanResponse issueBook(Long bookId, Long userId) {
         log.info("Пользователь [{}] берёт книгу [{}]", userId, bookId);
+        LoanResponse loan = retryExecutor.execute("issueBook", () -> doIssueBook(bookId, userId));
+        bookCatalogueCache.evictAvailability(bookId);
+        catalogueVersion.bump();
+        return loan;
+    }
+
+    public Loan returnBook(Long loanId, Long userId) {
+        log.info("Пользователь [{}] возвращает книгу по выдаче [{}]", userId, loanId);
+        Loan loan = retryExecutor.execute("returnBook", () -> doReturnBook(loanId, userId));
+        bookCatalogueCache.evictAvailability(loan.getBook().getId());
+        catalogueVersion.bump();
+        return loan;
+    }
+
+    public LoanBatchResponse issueBooks(List<Long> bookIds, Long userId) {
+        log.info("Пользователь [{}] берёт пакет книг: {}", userId, bookIds);
+        checkBatchSize(bookIds);
+        LoanBatchResponse result = retryExecutor.execute("issueBooks", () -> doIssueBooks(bookIds, userId));
+        bookCatalogueCache.evictAvailability(bookIds);
+        if (result.getSucceeded() > 0) catalogueVersion.bump();
+        log.info("Пакетная выдача пользователю [{}]: выдано {}, отклонено {}", userId, result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    public LoanBatchResponse returnBooks(List<Long> loanIds, Long userId) {
+        log.info("Пользователь [{}] возвращает пакет выдач: {}", userId, loanIds);
+        checkBatchSize(loanIds);
+        LoanBatchResponse result = retryExecutor.execute("returnBooks", () -> doReturnBooks(loanIds, userId));
+        result.getItems().stream()
+                .filter(LoanBatchItemResponse::isSuccess)
+                .forEach(item -> bookCatalogueCache.evictAvailability(item.getLoan().getBookId()));
+        if (result.getSucceeded() > 0) catalogueVersion.bump();
+        log.info("Пакетный возврат пользователем [{}]: возвращено {}, отклонено {}", userId, result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private LoanResponse doIssueBook(Long bookId, Long userId) {
         AppUser user = loanValidator.validateAndGetUser(userId);
-        Book book = loanValidator.validateAndGetBook(bookId);
+        BookSnapshot book = loanValidator.validateAndGetBook(bookId);
         LoyaltyLevel level = user.getLoyaltyLevel();
         if (user.getLoyaltyPoints() < 0) level = LoyaltyLevel.NOVICE;
-        loanValidator.checkActiveLoansLimit(user, level);
+        loanValidator.reserveActiveLoanSlot(user, level);
         loanValidator.checkBookPriceLimit(book, level);
-        loanValidator.checkBookAvailability(book);
-        book.setCopiesAvailable(book.getCopiesAvailable() - 1);
-        bookRepository.save(book);
+        if (bookRepository.decrementCopiesAvailable(bookId) == 0) {
+            throw new BookUnavailableException("Нет доступных экземпляров книги");
+        }
         Loan loan = Loan.builder()
                 .appUser(user)
-                .book(book)
+                .book(bookRepository.getReferenceById(bookId))
                 .loanDate(LocalDate.now())
                 .dueDate(LocalDate.now().plusDays(level.getMaxDays()))
                 .build();
         log.info("Книга [{}] выдана пользователю [{}]", bookId, userId);
-        return loanRepository.save(loan);
+        return LoanResponse.from(loanRepository.save(loan), book.getTitle());
     }
 
-    @Transactional
-    public Loan returnBook(Long loanId, Long userId) {
-        log.info("Пользователь [{}] возвращает книгу по выдаче [{}]", userId, loanId);
+    private Loan doReturnBook(Long loanId, Long userId) {
         AppUser user = loanValidator.validateAndGetUser(userId);
         Loan loan = loanValidator.validateAndGetLoan(loanId);
         loanValidator.checkLoanOwnership(loan, userId);
@@ -56,24 +111,186 @@ public class LoanService {
         user.setLoyaltyLevel(loyaltyService.calculateLevel(user.getLoyaltyPoints()));
         appUserRepository.save(user);
         loanRepository.save(loan);
-        Book book = loan.getBook();
-        book.setCopiesAvailable(book.getCopiesAvailable() + 1);
-        bookRepository.save(book);
+        bookRepository.incrementCopiesAvailable(loan.getBook().getId());
+        appUserRepository.decrementActiveLoansCount(userId);
         log.info("Книга по займу [{}] возвращена пользователем [{}]", loanId, userId);
         return loan;
     }
 
-    public List<Loan> getActiveLoans(Long userId) {
-        loanValidator.validateAndGetUser(userId);
-        List<Loan> loans = loanRepository.findByAppUserIdAndReturnedDateIsNull(userId);
-        loanValidator.checkLoansNotEmpty(loans);
-        return loans;
+    private LoanBatchResponse doIssueBooks(List<Long> bookIds, Long userId) {
+        AppUser user = loanValidator.validateAndGetUser(userId);
+        LoyaltyLevel level = user.getLoyaltyPoints() < 0 ? LoyaltyLevel.NOVICE : user.getLoyaltyLevel();
+        Map<Long, BookSnapshot> books = bookCatalogueCache.findAll(new HashSet<>(bookIds));
+
+        Map<Long, ApiException> rejected = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        List<Long> candidates = new ArrayList<>();
+        for (Long bookId : bookIds) {
+            BookSnapshot book = books.get(bookId);
+            if (!seen.add(bookId)) {
+                continue;
+            } else if (book == null) {
+                rejected.put(bookId, new BookNotFoundException("Книга не найдена"));
+            } else if (book.getPrice() > level.getMaxBookPrice()) {
+                rejected.put(bookId, new BookPriceLimitExceededException(
+                        "Стоимость книги превышает разрешенную для вашего уровня (" + level.getTitle() + ")"));
+            } else {
+                candidates.add(bookId);
+            }
+        }
+
+        int freeSlots = Math.max(0, level.getMaxBooks() - user.getActiveLoansCount());
+        Set<Long> inStock = candidates.isEmpty() || freeSlots == 0
+                ? Set.of()
+                : new HashSet<>(bookRepository.findIdsInStock(candidates));
+        List<Long> wanted = candidates.stream().filter(inStock::contains).limit(freeSlots).sorted().toList();
+        Set<Long> reserved = wanted.isEmpty() ? Set.of() : toIdSet(bookRepository.decrementCopiesAvailableIn(wanted));
+        List<Long> issued = new ArrayList<>();
+        List<Long> overLimit = new ArrayList<>();
+        for (Long bookId : candidates) {
+            if (reserved.contains(bookId)) {
+                issued.add(bookId);
+            } else if (freeSlots == 0 || (inStock.contains(bookId) && !wanted.contains(bookId))) {
+                rejected.put(bookId, loanLimitExceeded(level));
+            } else {
+                rejected.put(bookId, new BookUnavailableException("Нет доступных экземпляров книги"));
+            }
+        }
+        int granted = reserveActiveLoans(userId, issued.size(), level);
+        if (granted < issued.size()) {
+            List<Long> trimmed = issued.subList(granted, issued.size());
+            trimmed.forEach(bookId -> rejected.put(bookId, loanLimitExceeded(level)));
+            overLimit.addAll(trimmed);
+            trimmed.clear();
+        }
+        if (!overLimit.isEmpty()) {
+            bookRepository.incrementCopiesAvailableIn(overLimit);
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Loan> loans = loanRepository.saveAll(issued.stream()
+                .map(bookId -> Loan.builder()
+                        .appUser(user)
+                        .book(bookRepository.getReferenceById(bookId))
+                        .loanDate(today)
+                        .dueDate(today.plusDays(level.getMaxDays()))
+                        .build())
+                .toList());
+        Map<Long, Loan> loansByBook = loans.stream()
+                .collect(Collectors.toMap(loan -> loan.getBook().getId(), Function.identity()));
+
+        seen.clear();
+        List<LoanBatchItemResponse> items = new ArrayList<>(bookIds.size());
+        for (Long bookId : bookIds) {
+            if (!seen.add(bookId)) {
+                items.add(LoanBatchItemResponse.failed(bookId, new ValidationException("Книга указана в пакете повторно")));
+            } else if (loansByBook.containsKey(bookId)) {
+                items.add(LoanBatchItemResponse.ok(bookId, LoanResponse.from(loansByBook.get(bookId), books.get(bookId).getTitle())));
+            } else {
+                items.add(LoanBatchItemResponse.failed(bookId, rejected.get(bookId)));
+            }
+        }
+        return LoanBatchResponse.of(items);
+    }
+
+    private int reserveActiveLoans(Long userId, int wanted, LoyaltyLevel level) {
+        int count = wanted;
+        for (int attempt = 0; count > 0 && attempt < RESERVE_ATTEMPTS; attempt++) {
+            if (appUserRepository.reserveActiveLoans(userId, count, level.getMaxBooks()) > 0) {
+                return count;
+            }
+            int active = appUserRepository.findActiveLoansCountById(userId).orElse(level.getMaxBooks());
+            count = Math.min(count, Math.max(0, level.getMaxBooks() - active));
+            log.debug("Пользователю [{}] доступно {} из {} запрошенных слотов выдачи", userId, count, wanted);
+        }
+        return 0;
+    }
+
+    private static BookLoanLimitExceededException loanLimitExceeded(LoyaltyLevel level) {
+        return new BookLoanLimitExceededException("Превышен лимит книг для вашего уровня лояльности (" + level.getTitle() + ")");
+    }
+
+    private LoanBatchResponse doReturnBooks(List<Long> loanIds, Long userId) {
+        AppUser user = loanValidator.validateAndGetUser(userId);
+        Map<Long, Loan> loans = loanRepository.findAllWithBookByIdIn(new HashSet<>(loanIds)).stream()
+                .collect(Collectors.toMap(Loan::getId, Function.identity()));
+
+        Map<Long, ApiException> rejected = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        List<Long> candidates = new ArrayList<>();
+        for (Long loanId : loanIds) {
+            Loan loan = loans.get(loanId);
+            if (!seen.add(loanId)) {
+                continue;
+            } else if (loan == null) {
+                rejected.put(loanId, new LoanNotFoundException("Выдача книги не найдена"));
+            } else if (!loan.getAppUser().getId().equals(userId)) {
+                rejected.put(loanId, new ForbiddenActionException("Вы не можете вернуть чужую книгу"));
+            } else if (loan.getReturnedDate() != null) {
+                rejected.put(loanId, new LoanAlreadyReturnedException("Книга уже возвращена"));
+            } else {
+                candidates.add(loanId);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        Set<Long> returned = candidates.isEmpty() ? Set.of() : toIdSet(loanRepository.markReturned(candidates, userId, today));
+        if (!returned.isEmpty()) {
+            bookRepository.restockReturnedLoans(returned);
+            appUserRepository.releaseActiveLoans(userId, returned.size());
+            int delta = 0;
+            for (Long loanId : returned) {
+                delta += today.isAfter(loans.get(loanId).getDueDate()) ? -2 : 1;
+            }
+            user.setLoyaltyPoints(user.getLoyaltyPoints() + delta);
+            user.setLoyaltyLevel(loyaltyService.calculateLevel(user.getLoyaltyPoints()));
+            appUserRepository.save(user);
+        }
+
+        seen.clear();
+        List<LoanBatchItemResponse> items = new ArrayList<>(loanIds.size());
+        for (Long loanId : loanIds) {
+            if (!seen.add(loanId)) {
+                items.add(LoanBatchItemResponse.failed(loanId, new ValidationException("Выдача указана в пакете повторно")));
+            } else if (returned.contains(loanId)) {
+                LoanResponse loan = LoanResponse.from(loans.get(loanId));
+                loan.setReturnedDate(today);
+                items.add(LoanBatchItemResponse.ok(loanId, loan));
+            } else {
+                items.add(LoanBatchItemResponse.failed(loanId, rejected.getOrDefault(loanId,
+                        new LoanAlreadyReturnedException("Книга уже возвращена"))));
+            }
+        }
+        return LoanBatchResponse.of(items);
+    }
+
+    private void checkBatchSize(List<Long> ids) {
+        if (ids.size() > batchMaxSize) {
+            throw new ValidationException("В пакете не может быть больше " + batchMaxSize + " элементов");
+        }
+    }
+
+    private static Set<Long> toIdSet(List<Number> ids) {
+        return ids.stream().map(Number::longValue).collect(Collectors.toSet());
+    }
+
+    public KeysetPage<Loan> getActiveLoans(Long userId, String cursor, Integer size) {
+        loanValidator.checkUserExists(userId);
+        int pageSize = pageSizeResolver.resolve(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, SORT_BY_ID);
+        List<Loan> loans = loanRepository.findActivePageByUserId(
+                userId, after == null ? 0L : after.getId(), pageSizeResolver.lookahead(pageSize));
+        if (cursor == null) loanValidator.checkLoansNotEmpty(loans);
+        return KeysetPage.of(loans, pageSize, loan -> KeysetCursor.encode(SORT_BY_ID, loan.getId(), null));
     }
 
-    public List<Loan> getActiveLoansByBook(Long bookId) {
+    public KeysetPage<Loan> getActiveLoansByBook(Long bookId, String cursor, Integer size) {
         loanValidator.validateAndGetBook(bookId);
-        List<Loan> loans = loanRepository.findByBookIdAndReturnedDateIsNull(bookId);
-        loanValidator.checkLoansNotEmpty(loans);
-        return loans;
+        int pageSize = pageSizeResolver.resolve(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, SORT_BY_ID);
+        List<Loan> loans = loanRepository.findActivePageByBookId(
+                bookId, after == null ? 0L : after.getId(), pageSizeResolver.lookahead(pageSize));
+        if (cursor == null) loanValidator.checkLoansNotEmpty(loans);
+        return KeysetPage.of(loans, pageSize, loan -> KeysetCursor.encode(SORT_BY_ID, loan.getId(), null));
     }
-}
\ No newline at end of file
+}
@@ -3,15 +3,24 @@ package bookShop.service;
 import bookShop.model.*;
 import bookShop.repository.AppUserRepository;
 import bookShop.repository.LoanRepository;
+import bookShop.security.CustomUserDetailsService;
+import bookShop.security.TokenVersionRegistry;
+import bookShop.util.KeysetCursor;
+import bookShop.util.KeysetPage;
+import bookShop.util.PageSizeResolver;
 import bookShop.exception.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import bookShop.model.projection.ActiveLoanView;
+import bookShop.model.response.LoanResponse;
 import bookShop.model.response.UserResponse;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import bookShop.model.request.RegisterRequest;
 
@@ -20,21 +29,39 @@ import bookShop.model.request.RegisterRequest;
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_USERNAME = "username";
     private static final int MAX_ADMIN_COUNT = 3;
 
     private final AppUserRepository userRepository;
     private final LoanRepository loanRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final CustomUserDetailsService userDetailsService;
+    private final PageSizeResolver pageSizeResolver;
     private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
-    public List<UserResponse> getAllUsers() {
-        List<AppUser> users = userRepository.findAll();
-        if (users.isEmpty()) {
+    public KeysetPage<UserResponse> getAllUsers(String cursor, Integer size, String sort) {
+        int pageSize = pageSizeResolver.resolve(size);
+        Pageable limit = pageSizeResolver.lookahead(pageSize);
+        List<AppUser> users;
+        if (SORT_BY_USERNAME.equals(sort)) {
+            KeysetCursor after = KeysetCursor.decode(cursor, SORT_BY_USERNAME);
+            users = after == null
+                    ? userRepository.findFirstPageByUsername(limit)
+                    : userRepository.findPageAfterUsername(after.getValue(), after.getId(), limit);
+        } else if (SORT_BY_ID.equals(sort)) {
+            KeysetCursor after = KeysetCursor.decode(cursor, SORT_BY_ID);
+            users = userRepository.findPageAfterId(after == null ? 0L : after.getId(), limit);
+        } else {
+            throw new ValidationException("Некорректное поле сортировки: " + sort);
+        }
+        if (users.isEmpty() && cursor == null) {
             throw new UserNotFoundException("Пользователи не найдены");
         }
-        return users.stream()
-                .map(this::toUserResponseWithActiveLoans)
-                .collect(Collectors.toList());
+        KeysetPage<AppUser> page = KeysetPage.of(users, pageSize, user -> KeysetCursor.encode(
+                sort, user.getId(), SORT_BY_USERNAME.equals(sort) ? user.getUsername() : null));
+        return new KeysetPage<>(toUserResponses(page.getItems()), page.getNextCursor());
     }
 
     public UserResponse getUserById(Long id) {
@@ -42,13 +69,18 @@ public class UserService {
         return toUserResponseWithActiveLoans(user);
     }
 
-    public List<UserResponse> getUsersByUsername(String username) {
+    public KeysetPage<UserResponse> getUsersByUsername(String username, String cursor, Integer size) {
         username = (username != null) ? username.trim() : null;
-        List<AppUser> users = userRepository.findByUsernameIgnoreCaseLike(username);
-        if (users.isEmpty()) {
+        int pageSize = pageSizeResolver.resolve(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, SORT_BY_ID);
+        List<AppUser> users = userRepository.findByUsernameIgnoreCaseLikeAfterId(
+                username, after == null ? 0L : after.getId(), pageSizeResolver.lookahead(pageSize));
+        if (users.isEmpty() && cursor == null) {
             throw new UserNotFoundException("Пользователи с таким username не найдены");
         }
-        return users.stream().map(this::toUserResponseWithActiveLoans).collect(Collectors.toList());
+        KeysetPage<AppUser> page = KeysetPage.of(users, pageSize,
+                user -> KeysetCursor.encode(SORT_BY_ID, user.getId(), null));
+        return new KeysetPage<>(toUserResponses(page.getItems()), page.getNextCursor());
     }
 
     public UserResponse getUserByUsername(String username) {
@@ -60,10 +92,10 @@ public class UserService {
 
     public void deleteUser(Long id) {
         log.warn("Попытка удаления админом пользователя [{}]", id);
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException();
-        }
-        userRepository.deleteById(id);
+        AppUser user = findUserByIdOrThrow(id);
+        userRepository.delete(user);
+        tokenVersionRegistry.invalidate(id);
+        userDetailsService.evict(user.getUsername());
         log.info("Пользователь [{}] удалён админом", id);
     }
 
@@ -73,6 +105,8 @@ public class UserService {
         checkUpdateUserRights(user, userDetails, request);
         updateUserFields(user, request, userDetails);
         AppUser saved = userRepository.save(user);
+        tokenVersionRegistry.invalidate(id);
+        userDetailsService.evict(saved.getUsername());
         log.info("Пользователь [{}] успешно обновлён", id);
         return toUserResponseWithActiveLoans(saved);
     }
@@ -115,6 +149,25 @@ public class UserService {
         return response;
     }
 
+    private List<UserResponse> toUserResponses(List<AppUser> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<Long> userIds = users.stream().map(AppUser::getId).collect(Collectors.toList());
+        Map<Long, List<LoanResponse>> loansByUser = loanRepository.findActiveLoanViewsByUserIds(userIds).stream()
+                .collect(Collectors.groupingBy(
+                        ActiveLoanView::getUserId,
+                        Collectors.mapping(ActiveLoanView::toLoanResponse, Collectors.toList())
+                ));
+        return users.stream()
+                .map(user -> {
+                    UserResponse response = UserResponse.from(user);
+                    response.setActiveLoans(loansByUser.getOrDefault(user.getId(), List.of()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
     private void checkUpdateUserRights(AppUser user, AppUserDetails userDetails, RegisterRequest request) {
         boolean isAdmin = userDetails.getRole() == Role.ADMIN;
         boolean isOwner = user.getId().equals(userDetails.getId());
@@ -157,6 +210,7 @@ public class UserService {
                     checkAdminLimit();
                 }
                 user.setRole(request.getRole());
+                user.setTokenVersion(user.getTokenVersion() + 1);
             }
         }
     }
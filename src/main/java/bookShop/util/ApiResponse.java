@@ -1,5 +1,6 @@
 package bookShop.util;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,12 +15,22 @@ public class ApiResponse {
     private int status;
     private String timestamp;
     private Object data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public static ApiResponse successWithData(Object data, String message) {
-        return new ApiResponse(null, message, 200, LocalDateTime.now().toString(), data);
+        return new ApiResponse(null, message, 200, LocalDateTime.now().toString(), data, null);
+    }
+
+    public static ApiResponse successPage(KeysetPage<?> page) {
+        return new ApiResponse(null, null, 200, LocalDateTime.now().toString(), page.getItems(), page.getNextCursor());
+    }
+
+    public static ApiResponse successRaw(RawJson data, String nextCursor) {
+        return new ApiResponse(null, null, 200, LocalDateTime.now().toString(), data, nextCursor);
     }
 
     public static ApiResponse error(String error, String message, int status) {
-        return new ApiResponse(error, message, status, LocalDateTime.now().toString(), null);
+        return new ApiResponse(error, message, status, LocalDateTime.now().toString(), null, null);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package bookShop.util;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import bookShop.model.request.AuthRequest;
 
@@ -17,6 +18,18 @@ public class ApiResponseUtil {
         return ResponseEntity.ok(ApiResponse.successWithData(data, message));
     }
 
+    public static ResponseEntity<ApiResponse> successPage(KeysetPage<?> page) {
+        return ResponseEntity.ok(ApiResponse.successPage(page));
+    }
+
+    public static ResponseEntity<ApiResponse> successRevalidated(ApiResponse body, String etag, long lastModified) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(body);
+    }
+
     public static ResponseEntity<ApiResponse> successMsg(String message) {
         return ResponseEntity.ok(ApiResponse.successWithData(null, message));
     }
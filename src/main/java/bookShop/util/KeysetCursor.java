@@ -0,0 +1,39 @@
+package bookShop.util;
+
+import bookShop.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+    private static final char SEPARATOR = '\n';
+
+    private final String sort;
+    private final long id;
+    private final String value;
+
+    public static String encode(String sort, long id, String value) {
+        String raw = sort + SEPARATOR + id + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor, String expectedSort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 3);
+            if (parts.length < 2 || !parts[0].equals(expectedSort)) {
+                throw new ValidationException("Курсор не соответствует сортировке " + expectedSort);
+            }
+            return new KeysetCursor(parts[0], Long.parseLong(parts[1]), parts.length == 3 ? parts[2] : null);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Некорректный курсор страницы");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package bookShop.util;
+
+import bookShop.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PageSizeResolver {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public PageSizeResolver(@Value("${bookshop.pagination.default-size:50}") int defaultSize,
+                            @Value("${bookshop.pagination.max-size:500}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int resolve(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new ValidationException("Размер страницы должен быть положительным");
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    public Pageable lookahead(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+}
@@ -0,0 +1,67 @@
+package bookShop.util;
+
+import bookShop.model.response.CacheStatsResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class SerializedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Payload> cache;
+    private final LongAdder staleVersions = new LongAdder();
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   @Value("${bookshop.response-cache.max-size:1000}") long maxSize,
+                                   @Value("${bookshop.response-cache.ttl-ms:60000}") long ttlMs) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+
+    public ApiResponse page(String key, long version, Supplier<KeysetPage<?>> loader) {
+        Payload payload = cache.getIfPresent(key);
+        if (payload != null && payload.version != version) {
+            staleVersions.increment();
+            payload = null;
+        }
+        if (payload == null) {
+            KeysetPage<?> page = loader.get();
+            payload = new Payload(version, serialize(page.getItems()), page.getNextCursor());
+            cache.put(key, payload);
+        }
+        return ApiResponse.successRaw(payload.data, payload.nextCursor);
+    }
+
+    public CacheStatsResponse cacheStats() {
+        return CacheStatsResponse.from("serializedResponses", cache, staleVersions.sum());
+    }
+
+    private RawJson serialize(Object data) {
+        try {
+            return new RawJson(objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Payload {
+        private final long version;
+        private final RawJson data;
+        private final String nextCursor;
+    }
+}
@@ -3,6 +3,8 @@ package bookShop.validation;
 import bookShop.model.*;
 import bookShop.repository.*;
 import bookShop.exception.*;
+import bookShop.model.projection.BookSnapshot;
+import bookShop.service.BookCatalogueCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -13,7 +15,7 @@ import java.util.List;
 public class LoanValidator {
 
     private final AppUserRepository userRepository;
-    private final BookRepository bookRepository;
+    private final BookCatalogueCache bookCatalogueCache;
     private final LoanRepository loanRepository;
 
     public AppUser validateAndGetUser(Long userId) {
@@ -21,8 +23,14 @@ public class LoanValidator {
                 .orElseThrow(() -> new UserNotFoundException("Пользователь не найден"));
     }
 
-    public Book validateAndGetBook(Long bookId) {
-        return bookRepository.findById(bookId)
+    public void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Пользователь не найден");
+        }
+    }
+
+    public BookSnapshot validateAndGetBook(Long bookId) {
+        return bookCatalogueCache.find(bookId)
                 .orElseThrow(() -> new BookNotFoundException("Книга не найдена"));
     }
 
@@ -43,25 +51,18 @@ public class LoanValidator {
         }
     }
 
-    public void checkActiveLoansLimit(AppUser user, LoyaltyLevel level) {
-        int currentActiveLoans = loanRepository.findByAppUserIdAndReturnedDateIsNull(user.getId()).size();
-        if (currentActiveLoans >= level.getMaxBooks()) {
+    public void reserveActiveLoanSlot(AppUser user, LoyaltyLevel level) {
+        if (userRepository.incrementActiveLoansCount(user.getId(), level.getMaxBooks()) == 0) {
             throw new BookLoanLimitExceededException("Превышен лимит книг для вашего уровня лояльности (" + level.getTitle() + ")");
         }
     }
 
-    public void checkBookPriceLimit(Book book, LoyaltyLevel level) {
+    public void checkBookPriceLimit(BookSnapshot book, LoyaltyLevel level) {
         if (book.getPrice() > level.getMaxBookPrice()) {
             throw new BookPriceLimitExceededException("Стоимость книги превышает разрешенную для вашего уровня (" + level.getTitle() + ")");
         }
     }
 
-    public void checkBookAvailability(Book book) {
-        if (book.getCopiesAvailable() <= 0) {
-            throw new BookUnavailableException("Нет доступных экземпляров книги");
-        }
-    }
-
     public void checkLoansNotEmpty(List<Loan> loans) {
         if (loans.isEmpty()) {
             throw new LoanNotFoundException("Выдачи не найдены");
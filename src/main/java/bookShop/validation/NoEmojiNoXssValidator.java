@@ -1,31 +1,47 @@
 package bookShop.validation;
 
 import javax.validation.ConstraintValidator;
-import java.util.regex.Pattern;
 
 public class NoEmojiNoXssValidator implements ConstraintValidator<NoEmojiNoXss, String> {
-    private static final Pattern XSS_PATTERN = Pattern.compile("[<>\"'&]");
-    private static final Pattern EMOJI_PATTERN = Pattern.compile(
-            "[\\p{So}\\p{Cn}" +
-                    "\\x{203C}-\\x{3299}" +
-                    "\\x{1F000}-\\x{1F9FF}" +     // Основная emoji зона
-                    "\\x{1FA70}-\\x{1FAFF}" +     // Дополнительная emoji зона
-                    "\\x{1F1E6}-\\x{1F1FF}" +     // Флаги
-                    "\\x{1F201}-\\x{1F251}" +
-                    "\\x{1F600}-\\x{1F64F}" +     // Смайлы
-                    "\\x{1F300}-\\x{1F5FF}" +     // Символы/иконки
-                    "\\x{1F680}-\\x{1F6FF}" +     // Транспорт
-                    "\\x{1F900}-\\x{1F9FF}" +     // Доп. эмодзи
-                    "\\x{2600}-\\x{26FF}" +       // Символы Misc
-                    "\\x{2700}-\\x{27BF}" +       // Символы Dingbats
-                    "]"
-    );
+    private static final String XSS_CHARS = "<>\"'&";
+    private static final int[][] EMOJI_RANGES = {
+            {0x203C, 0x3299},       // Символы, Misc, Dingbats
+            {0x1F000, 0x1F9FF},     // Основная emoji зона: флаги, смайлы, иконки, транспорт
+            {0x1FA70, 0x1FAFF}      // Дополнительная emoji зона
+    };
+    private static final long[] FORBIDDEN_BMP = new long[(Character.MAX_VALUE + 1) >>> 6];
+
+    static {
+        for (int cp = Character.MIN_VALUE; cp <= Character.MAX_VALUE; cp++) {
+            if (isForbiddenCodePoint(cp)) {
+                FORBIDDEN_BMP[cp >>> 6] |= 1L << cp;
+            }
+        }
+    }
 
     @Override
     public boolean isValid(String value, javax.validation.ConstraintValidatorContext context) {
         if (value == null) return true;
-        if (XSS_PATTERN.matcher(value).find()) return false;
-        if (EMOJI_PATTERN.matcher(value).find()) return false;
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char c = value.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                if (isForbiddenCodePoint(Character.toCodePoint(c, value.charAt(i + 1)))) return false;
+                i += 2;
+            } else {
+                if ((FORBIDDEN_BMP[c >>> 6] & (1L << c)) != 0) return false;
+                i++;
+            }
+        }
         return true;
     }
-}
\ No newline at end of file
+
+    static boolean isForbiddenCodePoint(int cp) {
+        if (cp < 0x80) return XSS_CHARS.indexOf(cp) >= 0;
+        for (int[] range : EMOJI_RANGES) {
+            if (cp >= range[0] && cp <= range[1]) return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.OTHER_SYMBOL || type == Character.UNASSIGNED;
+    }
+}
@@ -4,16 +4,40 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
 public class PasswordValidator implements ConstraintValidator<ValidPassword, String> {
+
+    private static final int MIN_LENGTH = 6;
+    private static final int MAX_LENGTH = 64;
+    private static final String SPECIAL_CHARS = "!@#$%^&*()_+-={}:;\"'<>,.?[]\\|`~/";
+
+    private static final byte UPPER = 1;
+    private static final byte LOWER = 2;
+    private static final byte DIGIT = 4;
+    private static final byte SPECIAL = 8;
+    private static final int ALL_CLASSES = UPPER | LOWER | DIGIT | SPECIAL;
+    private static final byte[] CHAR_CLASSES = new byte[128];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) CHAR_CLASSES[c] = UPPER;
+        for (char c = 'a'; c <= 'z'; c++) CHAR_CLASSES[c] = LOWER;
+        for (char c = '0'; c <= '9'; c++) CHAR_CLASSES[c] = DIGIT;
+        for (int i = 0; i < SPECIAL_CHARS.length(); i++) CHAR_CLASSES[SPECIAL_CHARS.charAt(i)] = SPECIAL;
+    }
+
     @Override
     public boolean isValid(String password, ConstraintValidatorContext context) {
         if (password == null) return false;
-        password = password.trim();
-        if (password.length() < 6 || password.length() > 64) return false;
-        if (!password.matches("^[A-Za-z\\d!@#$%^&*()_+\\-={}:;\"'<>,.?\\[\\]\\\\|`~/.]+$")) return false;
-        if (!password.matches(".*[A-Z].*")) return false;
-        if (!password.matches(".*[a-z].*")) return false;
-        if (!password.matches(".*\\d.*")) return false;
-        if (!password.matches(".*[!@#$%^&*()_+\\-={}:;\"'<>,.?\\[\\]\\\\|`~/.].*")) return false;
-        return true;
+        int start = 0;
+        int end = password.length();
+        while (start < end && password.charAt(start) <= ' ') start++;
+        while (end > start && password.charAt(end - 1) <= ' ') end--;
+        int length = end - start;
+        if (length < MIN_LENGTH || length > MAX_LENGTH) return false;
+        int seen = 0;
+        for (int i = start; i < end; i++) {
+            char c = password.charAt(i);
+            if (c >= CHAR_CLASSES.length || CHAR_CLASSES[c] == 0) return false;
+            seen |= CHAR_CLASSES[c];
+        }
+        return seen == ALL_CLASSES;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package bookShop.apiTests.common;
 
 import bookShop.apiTests.util.ApiHelper;
+import bookShop.apiTests.util.BookTestUtil;
 import bookShop.apiTests.util.UserTestUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -15,6 +16,7 @@ public abstract class BaseIntegrationTest {
 
     protected ApiHelper apiHelper;
     protected UserTestUtil userTestUtil;
+    protected BookTestUtil bookTestUtil;
 
     @BeforeEach
     void setUp() {
@@ -23,5 +25,6 @@ public abstract class BaseIntegrationTest {
 
         apiHelper = new ApiHelper();
         userTestUtil = new UserTestUtil(apiHelper);
+        bookTestUtil = new BookTestUtil(apiHelper);
     }
 }
\ No newline at end of file
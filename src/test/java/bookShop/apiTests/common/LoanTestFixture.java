@@ -0,0 +1,122 @@
+package bookShop.apiTests.common;
+
+import bookShop.apiTests.model.BookRequest;
+import bookShop.apiTests.model.RegisterRequest;
+import bookShop.apiTests.util.ApiHelper;
+import bookShop.apiTests.util.BookTestUtil;
+import bookShop.apiTests.util.UserTestUtil;
+import bookShop.model.AppUser;
+import bookShop.model.LoyaltyLevel;
+import bookShop.repository.AppUserRepository;
+import io.restassured.response.Response;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static bookShop.apiTests.enums.ApiError.OK;
+import static bookShop.apiTests.enums.ApiPath.BOOKS;
+import static bookShop.apiTests.enums.JsonPathKey.DATA_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LoanTestFixture {
+
+    private final ApiHelper apiHelper;
+    private final UserTestUtil userTestUtil;
+    private final BookTestUtil bookTestUtil;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AppUserRepository appUserRepository;
+    private final List<Long> bookIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    public LoanTestFixture(ApiHelper apiHelper,
+                           UserTestUtil userTestUtil,
+                           BookTestUtil bookTestUtil,
+                           NamedParameterJdbcTemplate jdbcTemplate,
+                           AppUserRepository appUserRepository) {
+        this.apiHelper = apiHelper;
+        this.userTestUtil = userTestUtil;
+        this.bookTestUtil = bookTestUtil;
+        this.jdbcTemplate = jdbcTemplate;
+        this.appUserRepository = appUserRepository;
+    }
+
+    public Long createBook(String adminToken, String titlePrefix, int copies) {
+        BookRequest book = BookRequest.builder()
+                .title(titlePrefix + "_" + TestDataUtil.randomSuffix())
+                .author("Concurrency Tester")
+                .price(10.0)
+                .copiesAvailable(copies)
+                .build();
+        Response response = apiHelper.postWithToken(BOOKS.getPath(), book, adminToken);
+        assertEquals(OK.getStatus(), response.getStatusCode(), response.asString());
+        Long id = response.jsonPath().getLong(DATA_ID.getPath());
+        bookIds.add(id);
+        return id;
+    }
+
+    public Reader registerReader() {
+        RegisterRequest reader = userTestUtil.generateRandomUser();
+        Long id = Long.valueOf(userTestUtil.registerUser(reader));
+        userIds.add(id);
+        return new Reader(id, userTestUtil.loginAndGetToken(reader.getUsername(), reader.getPassword()));
+    }
+
+    public void setLoyaltyPoints(Long userId, int points) {
+        AppUser user = appUserRepository.findById(userId).orElseThrow();
+        user.setLoyaltyPoints(points);
+        user.setLoyaltyLevel(LoyaltyLevel.fromPoints(points));
+        appUserRepository.save(user);
+    }
+
+    public long countActiveLoansByBook(Long bookId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM loan WHERE book_id = :bookId AND returned_date IS NULL",
+                new MapSqlParameterSource("bookId", bookId), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void cleanUp() {
+        if (!bookIds.isEmpty() || !userIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM loan WHERE book_id IN (:bookIds) OR app_user_id IN (:userIds)",
+                    new MapSqlParameterSource()
+                            .addValue("bookIds", bookIds.isEmpty() ? List.of(-1L) : bookIds)
+                            .addValue("userIds", userIds.isEmpty() ? List.of(-1L) : userIds));
+        }
+        bookTestUtil.deleteBooks(bookIds);
+        userIds.forEach(id -> userTestUtil.deleteUser(String.valueOf(id)));
+        bookIds.clear();
+        userIds.clear();
+    }
+
+    public record Reader(Long id, String token) {
+    }
+}
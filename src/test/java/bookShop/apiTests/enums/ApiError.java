@@ -14,7 +14,11 @@ public enum ApiError {
     METHOD_NOT_ALLOWED(405, "METHOD_NOT_ALLOWED"),
     UNSUPPORTED_MEDIA_TYPE(415, "UNSUPPORTED_MEDIA_TYPE"),
     USER_ALREADY_EXISTS(400, "USER_ALREADY_EXISTS"),
-    INVALID_CREDENTIALS(401, "INVALID_CREDENTIALS");
+    INVALID_CREDENTIALS(401, "INVALID_CREDENTIALS"),
+    BOOK_UNAVAILABLE(400, "BOOK_UNAVAILABLE"),
+    BOOK_LOAN_LIMIT_EXCEEDED(400, "BOOK_LOAN_LIMIT_EXCEEDED"),
+    BOOK_NOT_FOUND(404, "BOOK_NOT_FOUND"),
+    LOAN_ALREADY_RETURNED(400, "LOAN_ALREADY_RETURNED");
 
     private final int status;
     private final String code;
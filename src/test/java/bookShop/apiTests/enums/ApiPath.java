@@ -9,7 +9,12 @@ public enum ApiPath {
     AUTH_REGISTER("/auth/register"),
     AUTH_LOGIN("/auth/login"),
     AUTH_REGISTER_NOT_EXIST("/auth/register-not-exist"),
-    AUTH_NOT_EXIST("/auth/not-exist");
+    AUTH_NOT_EXIST("/auth/not-exist"),
+    BOOKS("/books"),
+    LOANS_ISSUE("/loans/issue"),
+    LOANS_ISSUE_BATCH("/loans/issue/batch"),
+    LOANS_RETURN_BATCH("/loans/return/batch"),
+    BOOKS_IMPORT("/books/import");
 
     private final String path;
 }
@@ -0,0 +1,12 @@
+package bookShop.apiTests.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+public class BatchReturnRequest {
+    private List<Long> loanIds;
+}
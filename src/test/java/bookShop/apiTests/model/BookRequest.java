@@ -0,0 +1,13 @@
+package bookShop.apiTests.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder(toBuilder = true)
+public class BookRequest {
+    private String title;
+    private String author;
+    private Double price;
+    private Integer copiesAvailable;
+}
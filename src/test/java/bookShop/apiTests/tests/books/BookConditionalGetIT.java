@@ -0,0 +1,64 @@
+package bookShop.apiTests.tests.books;
+
+import bookShop.apiTests.common.BaseIntegrationTest;
+import bookShop.apiTests.common.TestDataUtil;
+import bookShop.apiTests.model.BookRequest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static bookShop.apiTests.enums.ApiError.OK;
+import static bookShop.apiTests.enums.ApiPath.BOOKS;
+import static bookShop.apiTests.enums.JsonPathKey.DATA_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Books GET: условные запросы по ETag")
+public class BookConditionalGetIT extends BaseIntegrationTest {
+
+    private static final String AUTHOR = "Etag Tester";
+    private static final int NOT_MODIFIED = 304;
+
+    private final List<Long> createdBookIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        bookTestUtil.deleteBooks(createdBookIds);
+    }
+
+    @Test
+    @DisplayName("GET /books: 304 пока каталог не менялся, новый ETag после изменения")
+    void catalogueEtagChangesOnlyOnMutation() {
+        String token = apiHelper.getAdminToken();
+        Response first = apiHelper.getWithToken(BOOKS.getPath(), token, Map.of());
+        assertEquals(OK.getStatus(), first.getStatusCode(), first.asString());
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag, "Ответ каталога должен содержать ETag");
+        assertTrue(first.getHeader("Cache-Control").contains("no-cache"));
+
+        Response cached = apiHelper.getWithToken(BOOKS.getPath(), token, Map.of("If-None-Match", etag));
+        assertEquals(NOT_MODIFIED, cached.getStatusCode());
+        assertEquals("", cached.asString());
+
+        BookRequest book = BookRequest.builder()
+                .title("Etag_" + TestDataUtil.randomSuffix())
+                .author(AUTHOR)
+                .price(10.0)
+                .copiesAvailable(1)
+                .build();
+        Response created = apiHelper.postWithToken(BOOKS.getPath(), book, token);
+        assertEquals(OK.getStatus(), created.getStatusCode(), created.asString());
+        createdBookIds.add(created.jsonPath().getLong(DATA_ID.getPath()));
+
+        Response changed = apiHelper.getWithToken(BOOKS.getPath(), token, Map.of("If-None-Match", etag));
+        assertEquals(OK.getStatus(), changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeader("ETag"));
+    }
+}
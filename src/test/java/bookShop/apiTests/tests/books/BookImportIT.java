@@ -0,0 +1,96 @@
+package bookShop.apiTests.tests.books;
+
+import bookShop.apiTests.common.BaseIntegrationTest;
+import bookShop.apiTests.common.TestDataUtil;
+import bookShop.model.Book;
+import bookShop.repository.BookRepository;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static bookShop.apiTests.enums.ApiError.BAD_REQUEST;
+import static bookShop.apiTests.enums.ApiError.OK;
+import static bookShop.apiTests.enums.ApiPath.BOOKS_IMPORT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Books /import: массовая загрузка каталога")
+public class BookImportIT extends BaseIntegrationTest {
+
+    private static final String AUTHOR = "Import Tester";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final List<String> importedTitles = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        List<Long> ids = importedTitles.stream()
+                .flatMap(title -> findByTitle(title).stream())
+                .map(Book::getId)
+                .toList();
+        bookTestUtil.deleteBooks(ids);
+    }
+
+    @Test
+    @DisplayName("Import JSON: дубликаты и невалидные строки попадают в отчёт")
+    void jsonImportReportsPerRowErrors() {
+        String first = "Imp_" + TestDataUtil.randomSuffix();
+        String second = "Imp_" + TestDataUtil.randomSuffix();
+        importedTitles.addAll(List.of(first, second));
+        String body = "["
+                + book(first, 10.0, 1) + ","
+                + book(second, 20.0, 2) + ","
+                + book(first.toUpperCase(), 10.0, 1) + ","
+                + "{\"title\":\"X\",\"author\":\"" + AUTHOR + "\",\"price\":-1,\"copiesAvailable\":1},"
+                + "42"
+                + "]";
+        Response response = apiHelper.postRawWithToken(BOOKS_IMPORT.getPath(), body, "application/json", apiHelper.getAdminToken());
+        assertEquals(OK.getStatus(), response.getStatusCode(), response.asString());
+        JsonPath report = response.jsonPath();
+        assertEquals(5, report.getInt("data.total"));
+        assertEquals(2, report.getInt("data.imported"));
+        assertEquals(1, report.getInt("data.duplicates"));
+        assertEquals(2, report.getInt("data.failed"));
+        assertEquals(3, report.getInt("data.errors[0].row"));
+        assertEquals("BOOK_ALREADY_EXISTS", report.getString("data.errors[0].error"));
+        assertEquals(BAD_REQUEST.getCode(), report.getString("data.errors[1].error"));
+        assertEquals(5, report.getInt("data.errors[2].row"));
+    }
+
+    @Test
+    @DisplayName("Import CSV: строки, уже существующие в каталоге, не дублируются")
+    void csvImportSkipsExistingBooks() {
+        String title = "Csv_" + TestDataUtil.randomSuffix();
+        importedTitles.add(title);
+        String csv = "title,author,price,copiesAvailable\n"
+                + "\"" + title + "\"," + AUTHOR + ",15.5,3\n"
+                + "Csv_broken," + AUTHOR + ",abc,1\n";
+        String token = apiHelper.getAdminToken();
+        Response first = apiHelper.postRawWithToken(BOOKS_IMPORT.getPath(), csv, "text/csv", token);
+        assertEquals(OK.getStatus(), first.getStatusCode(), first.asString());
+        assertEquals(1, first.jsonPath().getInt("data.imported"));
+        assertEquals(1, first.jsonPath().getInt("data.failed"));
+
+        Response second = apiHelper.postRawWithToken(BOOKS_IMPORT.getPath(), csv, "text/csv", token);
+        assertEquals(0, second.jsonPath().getInt("data.imported"));
+        assertEquals(1, second.jsonPath().getInt("data.duplicates"));
+        assertEquals(1, findByTitle(title).size());
+    }
+
+    private List<Book> findByTitle(String title) {
+        return bookRepository.findByTitleIgnoreCaseLike(title, Pageable.unpaged());
+    }
+
+    private static String book(String title, double price, int copies) {
+        return "{\"title\":\"" + title + "\",\"author\":\"" + AUTHOR + "\",\"price\":" + price
+                + ",\"copiesAvailable\":" + copies + "}";
+    }
+}
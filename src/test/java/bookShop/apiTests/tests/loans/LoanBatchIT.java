@@ -0,0 +1,106 @@
+package bookShop.apiTests.tests.loans;
+
+import bookShop.apiTests.common.BaseIntegrationTest;
+import bookShop.apiTests.common.LoanTestFixture;
+import bookShop.apiTests.model.BatchIssueRequest;
+import bookShop.apiTests.model.BatchReturnRequest;
+import bookShop.model.AppUser;
+import bookShop.repository.AppUserRepository;
+import bookShop.repository.BookRepository;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+import static bookShop.apiTests.enums.ApiError.*;
+import static bookShop.apiTests.enums.ApiPath.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Loans /issue/batch и /return/batch: пакетная выдача и возврат")
+public class LoanBatchIT extends BaseIntegrationTest {
+
+    private static final long MISSING_ID = 999_999_999L;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private LoanTestFixture fixture;
+
+    @BeforeEach
+    void initFixture() {
+        fixture = new LoanTestFixture(apiHelper, userTestUtil, bookTestUtil, jdbcTemplate, appUserRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    @DisplayName("Batch: результаты по каждой позиции, лимит уровня и остатки соблюдены")
+    void issueAndReturnBatchReportPerItemResults() {
+        String adminToken = apiHelper.getAdminToken();
+        Long available = fixture.createBook(adminToken, "Batch", 1);
+        Long soldOut = fixture.createBook(adminToken, "Batch", 0);
+        Long overLimit = fixture.createBook(adminToken, "Batch", 1);
+        LoanTestFixture.Reader reader = fixture.registerReader();
+        String token = reader.token();
+
+        BatchIssueRequest issue = BatchIssueRequest.builder()
+                .bookIds(List.of(available, soldOut, MISSING_ID, available, overLimit))
+                .build();
+        Response issueResp = apiHelper.postWithToken(LOANS_ISSUE_BATCH.getPath(), issue, token);
+        assertEquals(OK.getStatus(), issueResp.getStatusCode(), issueResp.asString());
+        JsonPath issued = issueResp.jsonPath();
+        assertEquals(1, issued.getInt("data.succeeded"));
+        assertEquals(4, issued.getInt("data.failed"));
+        assertEquals(true, issued.getBoolean("data.items[0].success"));
+        assertEquals(BOOK_UNAVAILABLE.getCode(), issued.getString("data.items[1].error"));
+        assertEquals(BOOK_NOT_FOUND.getCode(), issued.getString("data.items[2].error"));
+        assertEquals(BAD_REQUEST.getCode(), issued.getString("data.items[3].error"));
+        assertEquals(BOOK_LOAN_LIMIT_EXCEEDED.getCode(), issued.getString("data.items[4].error"));
+        assertEquals(1, bookRepository.findById(overLimit).orElseThrow().getCopiesAvailable(),
+                "Экземпляр, не выданный из-за лимита, должен вернуться на склад");
+        long loanId = issued.getLong("data.items[0].loan.id");
+
+        BatchReturnRequest ret = BatchReturnRequest.builder()
+                .loanIds(List.of(loanId, loanId, MISSING_ID))
+                .build();
+        Response returnResp = apiHelper.postWithToken(LOANS_RETURN_BATCH.getPath(), ret, token);
+        assertEquals(OK.getStatus(), returnResp.getStatusCode(), returnResp.asString());
+        JsonPath returned = returnResp.jsonPath();
+        assertEquals(1, returned.getInt("data.succeeded"));
+        assertEquals(true, returned.getBoolean("data.items[0].success"));
+        assertEquals(BAD_REQUEST.getCode(), returned.getString("data.items[1].error"));
+        assertEquals("LOAN_NOT_FOUND", returned.getString("data.items[2].error"));
+
+        AppUser user = appUserRepository.findById(reader.id()).orElseThrow();
+        assertEquals(1, user.getLoyaltyPoints());
+        assertEquals(0, user.getActiveLoansCount());
+        assertEquals(1, bookRepository.findById(available).orElseThrow().getCopiesAvailable());
+
+        Response again = apiHelper.postWithToken(LOANS_RETURN_BATCH.getPath(),
+                BatchReturnRequest.builder().loanIds(List.of(loanId)).build(), token);
+        assertEquals(LOAN_ALREADY_RETURNED.getCode(), again.jsonPath().getString("data.items[0].error"));
+    }
+
+    @Test
+    @DisplayName("Batch: пустой пакет отклоняется валидацией")
+    void emptyBatchIsRejected() {
+        String token = fixture.registerReader().token();
+        Response response = apiHelper.postWithToken(LOANS_ISSUE_BATCH.getPath(),
+                BatchIssueRequest.builder().bookIds(List.of()).build(), token);
+        assertEquals(BAD_REQUEST.getStatus(), response.getStatusCode(), response.asString());
+        assertEquals(BAD_REQUEST.getCode(), response.jsonPath().getString("error"));
+    }
+}
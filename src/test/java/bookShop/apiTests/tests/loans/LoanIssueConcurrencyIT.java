@@ -0,0 +1,79 @@
+package bookShop.apiTests.tests.loans;
+
+import bookShop.apiTests.common.BaseIntegrationTest;
+import bookShop.apiTests.common.LoanTestFixture;
+import bookShop.model.Book;
+import bookShop.repository.AppUserRepository;
+import bookShop.repository.BookRepository;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static bookShop.apiTests.enums.ApiError.BOOK_UNAVAILABLE;
+import static bookShop.apiTests.enums.ApiError.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DisplayName("Loans /issue: конкурентная выдача последних экземпляров")
+public class LoanIssueConcurrencyIT extends BaseIntegrationTest {
+
+    private static final int COPIES = 3;
+    private static final int READERS = 12;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private LoanTestFixture fixture;
+
+    @BeforeEach
+    void initFixture() {
+        fixture = new LoanTestFixture(apiHelper, userTestUtil, bookTestUtil, jdbcTemplate, appUserRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    @DisplayName("Issue: одновременная выдача не уводит остаток в минус")
+    void concurrentIssueNeverOversells() throws Exception {
+        Long bookId = fixture.createBook(apiHelper.getAdminToken(), "Stress", COPIES);
+        List<Callable<Response>> issues = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            String token = fixture.registerReader().token();
+            issues.add(() -> apiHelper.issueBook(String.valueOf(bookId), token));
+        }
+
+        int issued = 0;
+        int unavailable = 0;
+        for (Response response : LoanTestFixture.runConcurrently(issues)) {
+            if (response.getStatusCode() == OK.getStatus()) {
+                issued++;
+            } else {
+                assertEquals(BOOK_UNAVAILABLE.getStatus(), response.getStatusCode(), response.asString());
+                assertEquals(BOOK_UNAVAILABLE.getCode(), response.jsonPath().getString("error"));
+                unavailable++;
+            }
+        }
+        assertEquals(COPIES, issued, "Выдано должно быть ровно столько книг, сколько было экземпляров");
+        assertEquals(READERS - COPIES, unavailable);
+
+        Book dbBook = bookRepository.findById(bookId).orElse(null);
+        assertNotNull(dbBook, "Книга не найдена в БД");
+        assertEquals(0, dbBook.getCopiesAvailable(), "Остаток книги должен быть равен нулю");
+        assertEquals(COPIES, fixture.countActiveLoansByBook(bookId), "Активных выдач должно быть " + COPIES);
+    }
+}
@@ -0,0 +1,72 @@
+package bookShop.apiTests.tests.loans;
+
+import bookShop.apiTests.common.BaseIntegrationTest;
+import bookShop.apiTests.common.LoanTestFixture;
+import bookShop.model.AppUser;
+import bookShop.model.LoyaltyLevel;
+import bookShop.repository.AppUserRepository;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static bookShop.apiTests.enums.ApiError.BOOK_LOAN_LIMIT_EXCEEDED;
+import static bookShop.apiTests.enums.ApiError.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Loans /issue: лимит активных выдач при параллельных запросах")
+public class LoanLimitConcurrencyIT extends BaseIntegrationTest {
+
+    private static final int ATTEMPTS = 4;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private LoanTestFixture fixture;
+
+    @BeforeEach
+    void initFixture() {
+        fixture = new LoanTestFixture(apiHelper, userTestUtil, bookTestUtil, jdbcTemplate, appUserRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    @DisplayName("Issue: параллельные выдачи разных книг не превышают лимит уровня")
+    void concurrentIssuesRespectLoyaltyLimit() throws Exception {
+        String adminToken = apiHelper.getAdminToken();
+        LoanTestFixture.Reader reader = fixture.registerReader();
+        List<Callable<Response>> issues = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String bookId = String.valueOf(fixture.createBook(adminToken, "Limit", 1));
+            issues.add(() -> apiHelper.issueBook(bookId, reader.token()));
+        }
+
+        int issued = 0;
+        for (Response response : LoanTestFixture.runConcurrently(issues)) {
+            if (response.getStatusCode() == OK.getStatus()) {
+                issued++;
+            } else {
+                assertEquals(BOOK_LOAN_LIMIT_EXCEEDED.getStatus(), response.getStatusCode(), response.asString());
+                assertEquals(BOOK_LOAN_LIMIT_EXCEEDED.getCode(), response.jsonPath().getString("error"));
+            }
+        }
+
+        int limit = LoyaltyLevel.NOVICE.getMaxBooks();
+        assertEquals(limit, issued, "Выдано больше книг, чем позволяет уровень лояльности");
+        AppUser user = appUserRepository.findById(reader.id()).orElseThrow();
+        assertEquals(limit, user.getActiveLoansCount(), "Счётчик активных выдач расходится с фактическими выдачами");
+    }
+}
@@ -0,0 +1,82 @@
+package bookShop.apiTests.tests.loans;
+
+import bookShop.apiTests.common.BaseIntegrationTest;
+import bookShop.apiTests.common.LoanTestFixture;
+import bookShop.model.AppUser;
+import bookShop.model.LoyaltyLevel;
+import bookShop.repository.AppUserRepository;
+import bookShop.repository.BookRepository;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static bookShop.apiTests.enums.ApiError.OK;
+import static bookShop.apiTests.enums.JsonPathKey.DATA_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Loans /return: конкурентный возврат книг одним пользователем")
+public class LoanReturnConcurrencyIT extends BaseIntegrationTest {
+
+    private static final int LOANS = 5;
+    private static final int READER_POINTS = 10;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private LoanTestFixture fixture;
+
+    @BeforeEach
+    void initFixture() {
+        fixture = new LoanTestFixture(apiHelper, userTestUtil, bookTestUtil, jdbcTemplate, appUserRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.cleanUp();
+    }
+
+    @Test
+    @DisplayName("Return: параллельные возвраты не теряют баллы лояльности")
+    void concurrentReturnsKeepAllLoyaltyPoints() throws Exception {
+        String adminToken = apiHelper.getAdminToken();
+        LoanTestFixture.Reader reader = fixture.registerReader();
+        fixture.setLoyaltyPoints(reader.id(), READER_POINTS);
+        assertTrue(LoyaltyLevel.fromPoints(READER_POINTS).getMaxBooks() >= LOANS,
+                "Уровень читателя должен позволять взять все книги теста");
+        List<Long> bookIds = new ArrayList<>();
+        List<Callable<Response>> returns = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            Long bookId = fixture.createBook(adminToken, "Return", 1);
+            bookIds.add(bookId);
+            Response issueResp = apiHelper.issueBook(String.valueOf(bookId), reader.token());
+            assertEquals(OK.getStatus(), issueResp.getStatusCode(), issueResp.asString());
+            String loanId = issueResp.jsonPath().getString(DATA_ID.getPath());
+            returns.add(() -> apiHelper.returnBook(loanId, reader.token()));
+        }
+        for (Response response : LoanTestFixture.runConcurrently(returns)) {
+            assertEquals(OK.getStatus(), response.getStatusCode(), response.asString());
+        }
+
+        AppUser user = appUserRepository.findById(reader.id()).orElse(null);
+        assertNotNull(user, "Пользователь не найден в БД");
+        assertEquals(READER_POINTS + LOANS, user.getLoyaltyPoints(), "Каждый возврат должен начислить балл лояльности");
+        for (Long bookId : bookIds) {
+            assertEquals(1, bookRepository.findById(bookId).orElseThrow().getCopiesAvailable());
+        }
+        assertEquals(0, user.getActiveLoansCount());
+    }
+}
@@ -4,6 +4,8 @@ import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import bookShop.apiTests.model.AuthRequest;
 
+import java.util.Map;
+
 public class ApiHelper {
 
     private final String ADMIN_LOGIN = System.getenv("TEST_ADMIN_USERNAME");
@@ -18,6 +20,53 @@ public class ApiHelper {
                 .extract().response();
     }
 
+    public Response postWithToken(String path, Object body, String token) {
+        return RestAssured.given()
+                .header("Authorization", "Bearer " + token)
+                .contentType("application/json")
+                .body(body)
+                .post(path)
+                .then()
+                .extract().response();
+    }
+
+    public Response postRawWithToken(String path, String body, String contentType, String token) {
+        return RestAssured.given()
+                .header("Authorization", "Bearer " + token)
+                .contentType(contentType)
+                .body(body)
+                .post(path)
+                .then()
+                .extract().response();
+    }
+
+    public Response getWithToken(String path, String token, Map<String, String> headers) {
+        return RestAssured.given()
+                .header("Authorization", "Bearer " + token)
+                .headers(headers)
+                .get(path)
+                .then()
+                .extract().response();
+    }
+
+    public Response issueBook(String bookId, String token) {
+        return RestAssured.given()
+                .header("Authorization", "Bearer " + token)
+                .queryParam("bookId", bookId)
+                .post("/loans/issue")
+                .then()
+                .extract().response();
+    }
+
+    public Response returnBook(String loanId, String token) {
+        return RestAssured.given()
+                .header("Authorization", "Bearer " + token)
+                .queryParam("loanId", loanId)
+                .post("/loans/return")
+                .then()
+                .extract().response();
+    }
+
     public Response deleteUser(String userId, String adminToken) {
         return RestAssured.given()
                 .header("Authorization", "Bearer " + adminToken)
@@ -26,6 +75,14 @@ public class ApiHelper {
                 .extract().response();
     }
 
+    public Response deleteBook(String bookId, String adminToken) {
+        return RestAssured.given()
+                .header("Authorization", "Bearer " + adminToken)
+                .delete("/books/id/" + bookId)
+                .then()
+                .extract().response();
+    }
+
     public String getAdminToken() {
         AuthRequest loginReq = AuthRequest.builder()
                 .username(ADMIN_LOGIN)
@@ -0,0 +1,24 @@
+package bookShop.apiTests.util;
+
+import io.restassured.response.Response;
+
+import java.util.Collection;
+
+public class BookTestUtil {
+    private final ApiHelper apiHelper;
+
+    public BookTestUtil(ApiHelper apiHelper) {
+        this.apiHelper = apiHelper;
+    }
+
+    public void deleteBooks(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) return;
+        String adminToken = apiHelper.getAdminToken();
+        for (Long bookId : bookIds) {
+            Response resp = apiHelper.deleteBook(String.valueOf(bookId), adminToken);
+            if (resp.getStatusCode() != 200 && resp.getStatusCode() != 404) {
+                throw new RuntimeException("Ошибка при удалении книги: " + resp.asString());
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package bookShop.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("NoEmojiNoXssValidator: эквивалентность прежним регулярным выражениям")
+class NoEmojiNoXssValidatorTest {
+
+    private static final Pattern LEGACY_XSS_PATTERN = Pattern.compile("[<>\"'&]");
+    private static final Pattern LEGACY_EMOJI_PATTERN = Pattern.compile(
+            "[\\p{So}\\p{Cn}" +
+                    "\\x{203C}-\\x{3299}" +
+                    "\\x{1F000}-\\x{1F9FF}" +
+                    "\\x{1FA70}-\\x{1FAFF}" +
+                    "\\x{1F1E6}-\\x{1F1FF}" +
+                    "\\x{1F201}-\\x{1F251}" +
+                    "\\x{1F600}-\\x{1F64F}" +
+                    "\\x{1F300}-\\x{1F5FF}" +
+                    "\\x{1F680}-\\x{1F6FF}" +
+                    "\\x{1F900}-\\x{1F9FF}" +
+                    "\\x{2600}-\\x{26FF}" +
+                    "\\x{2700}-\\x{27BF}" +
+                    "]"
+    );
+
+    private final NoEmojiNoXssValidator validator = new NoEmojiNoXssValidator();
+
+    private static boolean legacyIsValid(String value) {
+        if (value == null) return true;
+        if (LEGACY_XSS_PATTERN.matcher(value).find()) return false;
+        if (LEGACY_EMOJI_PATTERN.matcher(value).find()) return false;
+        return true;
+    }
+
+    @Test
+    @DisplayName("Каждая кодовая точка классифицируется так же, как прежними шаблонами")
+    void everyCodePointMatchesLegacyPatterns() {
+        List<String> mismatches = new ArrayList<>();
+        for (int cp = Character.MIN_CODE_POINT; cp <= Character.MAX_CODE_POINT; cp++) {
+            String value = "Книга " + new String(Character.toChars(cp)) + " Book";
+            if (legacyIsValid(value) != validator.isValid(value, null) && mismatches.size() < 20) {
+                mismatches.add(String.format("U+%04X", cp));
+            }
+        }
+        assertTrue(mismatches.isEmpty(), "Расхождения с прежними шаблонами: " + mismatches);
+    }
+
+    @Test
+    @DisplayName("Одиночные и перевёрнутые суррогаты классифицируются так же, как прежними шаблонами")
+    void unpairedSurrogatesMatchLegacyPatterns() {
+        for (char high = Character.MIN_HIGH_SURROGATE; high <= Character.MAX_HIGH_SURROGATE; high++) {
+            String alone = "a" + high + "b";
+            String atEnd = "a" + high;
+            assertEquals(legacyIsValid(alone), validator.isValid(alone, null), alone);
+            assertEquals(legacyIsValid(atEnd), validator.isValid(atEnd, null), atEnd);
+        }
+        for (char low = Character.MIN_LOW_SURROGATE; low <= Character.MAX_LOW_SURROGATE; low++) {
+            String reversed = "a" + low + Character.MIN_HIGH_SURROGATE + "b";
+            String alone = low + "b";
+            assertEquals(legacyIsValid(reversed), validator.isValid(reversed, null), reversed);
+            assertEquals(legacyIsValid(alone), validator.isValid(alone, null), alone);
+        }
+    }
+
+    @Test
+    @DisplayName("null и пустая строка допустимы")
+    void nullAndEmptyAreValid() {
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid("", null));
+    }
+}